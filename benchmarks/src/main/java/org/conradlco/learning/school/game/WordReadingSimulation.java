@@ -0,0 +1,57 @@
+package org.conradlco.learning.school.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.conradlco.learning.school.words.Dictionary;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * Plays many headless Word Reading games at once, one virtual thread per simulated learner, to
+ * check that the session engine holds up under a classroom's worth of concurrent games.
+ *
+ * <p>Usage: {@code WordReadingSimulation [learners] [questions]}, from the benchmarks jar
+ */
+public class WordReadingSimulation {
+
+  public static void main(String[] args) throws Exception {
+    int learners = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int questions = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+    Dictionary dictionary = Dictionary.warmUp().join();
+    List<ReadingLevel> levels = dictionary.getLevels();
+
+    long start = System.nanoTime();
+    List<Future<Integer>> scores = new ArrayList<>(learners);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < learners; i++) {
+        // Every fifth learner plays "All"; the rest are spread across the levels
+        ReadingLevel level = i % 5 == 4 ? null : levels.get(i % levels.size());
+        scores.add(executor.submit(() -> play(dictionary, level, questions)));
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+
+    long totalScore = 0;
+    for (Future<Integer> score : scores) {
+      totalScore += score.get();
+    }
+    System.out.printf(
+        "%d games of %d questions in %d ms (average score %.1f)%n",
+        learners, questions, elapsed / 1_000_000, (double) totalScore / learners);
+  }
+
+  private static int play(Dictionary dictionary, ReadingLevel level, int questions) {
+    WordReadingSession session =
+        new WordReadingSession(dictionary, new ReadingProgress(), level, questions);
+    if (!session.start()) return 0;
+
+    while (!session.isFinished()) {
+      session.markAnswer(ThreadLocalRandom.current().nextInt(4) != 0);
+    }
+    return session.getScore();
+  }
+}
@@ -0,0 +1,146 @@
+package org.conradlco.learning.school.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives a running {@link ClassroomServer} with simulated students, one virtual thread each, and
+ * reports throughput and latency. Run through {@code scripts/classroom-load.sh}.
+ *
+ * <p>Usage: {@code ClassroomLoadTest [base url] [students] [seconds]}
+ */
+public class ClassroomLoadTest {
+
+  private static final Pattern SESSION = Pattern.compile("\"session\":\"([^\"]+)\"");
+  private static final String[] LEVELS = {"A1", "A2", "B1", "B2", "All"};
+  private static final String[] SOUNDS = {"oo", "oi", "ee", "ch", "igh", "tion"};
+  private static final String[] ANSWERS = {"greater", "equal", "less"};
+
+  public static void main(String[] args) throws Exception {
+    String baseUrl = args.length > 0 ? args[0] : "http://localhost:" + ClassroomServer.DEFAULT_PORT;
+    int students = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+    HttpClient client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+    List<Future<Student>> results = new ArrayList<>();
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < students; i++) {
+        Student student = new Student(client, baseUrl, i);
+        results.add(executor.submit(() -> student.run(deadline)));
+      }
+    }
+    double elapsed = (System.nanoTime() - start) / 1e9;
+
+    long requests = 0;
+    long errors = 0;
+    long[] latencies = new long[0];
+    for (Future<Student> result : results) {
+      Student student = result.get();
+      requests += student.latencyCount;
+      errors += student.errors;
+      int from = latencies.length;
+      latencies = Arrays.copyOf(latencies, from + student.latencyCount);
+      System.arraycopy(student.latencies, 0, latencies, from, student.latencyCount);
+    }
+    Arrays.sort(latencies);
+
+    System.out.printf(
+        "%d students, %d requests in %.1f s: %.0f requests/s, %d errors%n",
+        students, requests, elapsed, requests / elapsed, errors);
+    if (latencies.length > 0) {
+      System.out.printf(
+          "latency ms: p50 %.2f, p95 %.2f, p99 %.2f, max %.2f%n",
+          percentile(latencies, 0.50),
+          percentile(latencies, 0.95),
+          percentile(latencies, 0.99),
+          latencies[latencies.length - 1] / 1e6);
+    }
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1e6;
+  }
+
+  /** One simulated student cycling through the three exercises until the deadline. */
+  private static final class Student {
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int number;
+    private long[] latencies = new long[1024];
+    private int latencyCount;
+    private long errors;
+
+    Student(HttpClient client, String baseUrl, int number) {
+      this.client = client;
+      this.baseUrl = baseUrl;
+      this.number = number;
+    }
+
+    Student run(long deadline) {
+      Matcher m = SESSION.matcher(call("POST", "/api/sessions"));
+      if (!m.find()) return this;
+      String session = m.group(1);
+
+      for (int round = 0; System.nanoTime() < deadline; round++) {
+        String level = LEVELS[(number + round) % LEVELS.length];
+        call("POST", "/api/word-reading/start?session=" + session + "&level=" + level);
+        for (int q = 0; q < 10; q++) {
+          call("POST", "/api/word-reading/answer?session=" + session + "&correct=" + (q % 4 != 0));
+        }
+
+        String sound = SOUNDS[round % SOUNDS.length];
+        call("GET", "/api/words-by-sound?level=" + level + "&sound=" + sound);
+
+        call("POST", "/api/greater-than/start?session=" + session);
+        for (int q = 0; q < 20; q++) {
+          call(
+              "POST",
+              "/api/greater-than/answer?session=" + session + "&answer=" + ANSWERS[q % 3]);
+        }
+      }
+      return this;
+    }
+
+    private String call(String method, String path) {
+      HttpRequest request =
+          HttpRequest.newBuilder(URI.create(baseUrl + path))
+              .method(method, HttpRequest.BodyPublishers.noBody())
+              .build();
+      long start = System.nanoTime();
+      try {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        record(System.nanoTime() - start);
+        if (response.statusCode() != 200) errors++;
+        return response.body();
+      } catch (Exception e) {
+        errors++;
+        return "";
+      }
+    }
+
+    private void record(long nanos) {
+      if (latencyCount == latencies.length) {
+        latencies = Arrays.copyOf(latencies, latencyCount * 2);
+      }
+      latencies[latencyCount++] = nanos;
+    }
+  }
+}
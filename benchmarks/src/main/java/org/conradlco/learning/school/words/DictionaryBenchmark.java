@@ -0,0 +1,98 @@
+package org.conradlco.learning.school.words;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Query throughput of a loaded {@link Dictionary}, over the shipped word lists and over synthetic
+ * lists of 100k and 1M words.
+ *
+ * <p>{@code searchLevel} and {@code searchAll} time the query behind the Words By Sound "Show"
+ * button, which only forwards to {@link Dictionary#findWordsContaining}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DictionaryBenchmark {
+
+  /** "shipped" for the bundled lists, otherwise the number of synthetic words. */
+  @Param({"shipped", "100000", "1000000"})
+  public String words;
+
+  /** Sounds a teacher might search for: one letter, a digraph and a longer fragment. */
+  @Param({"a", "th", "ough"})
+  public String sound;
+
+  private Dictionary dictionary;
+  private String[] probes;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void load() {
+    DictionarySet set = DictionarySet.getDefault();
+    dictionary =
+        words.equals("shipped")
+            ? new Dictionary(set, false)
+            : new Dictionary(set, SyntheticWords.generate(Integer.parseInt(words), 42)::get);
+    // Build every index up front so only queries are timed
+    dictionary.getLevelOfWord("");
+
+    // Known words from every level plus some that are not in the dictionary at all
+    List<String> all = dictionary.getAllWords();
+    probes = new String[1024];
+    for (int i = 0; i < probes.length; i++) {
+      probes[i] = i % 8 == 0 ? "zz" + i : all.get((int) ((long) i * all.size() / probes.length));
+    }
+  }
+
+  @Benchmark
+  public List<String> getWordsForLevel() {
+    return dictionary.getWordsForLevel(ReadingLevel.B1);
+  }
+
+  @Benchmark
+  public String getRandomWord() {
+    return dictionary.getRandomWord();
+  }
+
+  @Benchmark
+  public String getRandomWordForLevel() {
+    return dictionary.getRandomWordForLevel(ReadingLevel.A2);
+  }
+
+  @Benchmark
+  public ReadingLevel getLevelOfWord() {
+    return dictionary.getLevelOfWord(probes[next++ & (probes.length - 1)]);
+  }
+
+  @Benchmark
+  public List<String> searchLevel() {
+    return dictionary.findWordsContaining(ReadingLevel.A1, sound);
+  }
+
+  @Benchmark
+  public List<String> searchAll() {
+    return dictionary.findWordsContaining(null, sound);
+  }
+
+  @Benchmark
+  public Map<ReadingLevel, Integer> countAll() {
+    return dictionary.countWordsContaining(sound);
+  }
+}
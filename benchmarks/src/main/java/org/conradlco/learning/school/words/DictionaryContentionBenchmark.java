@@ -0,0 +1,139 @@
+package org.conradlco.learning.school.words;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.conradlco.learning.school.metrics.Histogram;
+import org.conradlco.learning.school.metrics.Metrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Dictionary#getRandomWordForLevel} and {@link Dictionary#getLevelOfWord} called by 1, 4
+ * and all available threads at once on one shared dictionary, as the classroom server does.
+ * Throughput should grow in step with the threads, since queries share nothing mutable.
+ *
+ * <p>Each trial starts from a dictionary with nothing loaded, so the first calls race to load the
+ * levels. Every result is checked against answers worked out on one thread beforehand, and a wrong
+ * one fails the run, as does any level loaded twice by the race. {@link DictionaryReloadBenchmark}
+ * checks the answers while word lists are reloaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryContentionBenchmark {
+
+  private static final ReadingLevel LEVEL = ReadingLevel.A2;
+  private static final Histogram LOADS = Metrics.latency("dictionary.load").histogram();
+  private static final Histogram INDEX_BUILDS = Metrics.latency("dictionary.index").histogram();
+
+  private Dictionary dictionary;
+  private String[] probes;
+  private ReadingLevel[] expectedLevels;
+  private long loadsBefore;
+  private long indexBuildsBefore;
+
+  /** Each thread's position in the probes, so threads share no counter. */
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+  }
+
+  @Setup(Level.Trial)
+  public void load() {
+    DictionarySet set = DictionarySet.getDefault();
+    Dictionary reference = new Dictionary(set, false);
+    List<String> all = reference.getAllWords();
+    probes = new String[1024];
+    expectedLevels = new ReadingLevel[probes.length];
+    for (int i = 0; i < probes.length; i++) {
+      probes[i] = i % 8 == 0 ? "zz" + i : all.get((int) ((long) i * all.size() / probes.length));
+      expectedLevels[i] = reference.getLevelOfWord(probes[i]);
+    }
+    // A fresh, unloaded dictionary, so the benchmark threads race to load it
+    dictionary = new Dictionary(set, false);
+    loadsBefore = LOADS.count();
+    indexBuildsBefore = INDEX_BUILDS.count();
+  }
+
+  /** Fails the run if the racing threads loaded a level, or built the cross-level indexes, twice. */
+  @TearDown(Level.Trial)
+  public void checkLoadedOnce() {
+    // Loads whatever the benchmark did not need, so every level counts once
+    dictionary.getLevelOfWord("");
+    long loads = LOADS.count() - loadsBefore;
+    long indexBuilds = INDEX_BUILDS.count() - indexBuildsBefore;
+    if (loads != dictionary.getLevels().size() || indexBuilds != 1) {
+      throw new IllegalStateException(
+          loads + " level loads and " + indexBuilds + " index builds for "
+              + dictionary.getLevels().size() + " levels");
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String randomWordForLevel1() {
+    return randomWordForLevel();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String randomWordForLevel4() {
+    return randomWordForLevel();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String randomWordForLevelMax() {
+    return randomWordForLevel();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public ReadingLevel levelOfWord1(Cursor cursor) {
+    return levelOfWord(cursor);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public ReadingLevel levelOfWord4(Cursor cursor) {
+    return levelOfWord(cursor);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public ReadingLevel levelOfWordMax(Cursor cursor) {
+    return levelOfWord(cursor);
+  }
+
+  private String randomWordForLevel() {
+    String word = dictionary.getRandomWordForLevel(LEVEL);
+    if (!dictionary.getLevelsOfWord(word).contains(LEVEL)) {
+      throw new IllegalStateException(word + " is not an " + LEVEL + " word");
+    }
+    return word;
+  }
+
+  private ReadingLevel levelOfWord(Cursor cursor) {
+    int i = cursor.next++ & (probes.length - 1);
+    ReadingLevel level = dictionary.getLevelOfWord(probes[i]);
+    if (!Objects.equals(level, expectedLevels[i])) {
+      throw new IllegalStateException(probes[i] + ": " + level + ", expected " + expectedLevels[i]);
+    }
+    return level;
+  }
+}
@@ -0,0 +1,70 @@
+package org.conradlco.learning.school.words;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time from nothing to a dictionary with every level and index built, or to a {@link WordArena}
+ * holding the same words. Single shots, since a load happens once per run of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DictionaryLoadBenchmark {
+
+  /**
+   * "compiled" reads the binary dictionary built by the main project, "parsed" the text word
+   * lists; a number is that many synthetic words, generated before timing starts.
+   */
+  @Param({"compiled", "parsed", "100000", "1000000"})
+  public String source;
+
+  private Map<ReadingLevel, WordList> synthetic;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    if (Character.isDigit(source.charAt(0))) {
+      synthetic = SyntheticWords.generate(Integer.parseInt(source), 42);
+    }
+  }
+
+  @Benchmark
+  public Dictionary load() {
+    DictionarySet set = DictionarySet.getDefault();
+    Dictionary dictionary =
+        switch (source) {
+          case "compiled" -> new Dictionary(set, false);
+          case "parsed" -> new Dictionary(set, set::load);
+          default -> new Dictionary(set, synthetic::get);
+        };
+    // Loads every level and builds the cross-level indexes
+    dictionary.getLevelOfWord("");
+    return dictionary;
+  }
+
+  /** The same words into a {@link WordArena}; run with {@code -prof gc} to compare allocation. */
+  @Benchmark
+  public WordArena loadArena() {
+    DictionarySet set = DictionarySet.getDefault();
+    return switch (source) {
+      case "compiled" -> WordArena.load(set);
+      case "parsed" -> WordArena.of(set, set::load);
+      default -> WordArena.of(set, synthetic::get);
+    };
+  }
+}
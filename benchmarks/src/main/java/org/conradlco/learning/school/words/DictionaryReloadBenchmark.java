@@ -0,0 +1,140 @@
+package org.conradlco.learning.school.words;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Dictionary#getLevelOfWord} on a shared dictionary while its A1 list is saved and reloaded
+ * over and over underneath, as when a teacher edits a list mid-lesson. Readers check every answer:
+ * the words the writer never touches must keep their level, and the one word it keeps adding to and
+ * removing from A1, while A2 always lists it, must be at A1 or A2 and never missing. A wrong answer
+ * fails the run.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryReloadBenchmark {
+
+  private static final String MOVING = "zzmoving";
+  private static final List<ReadingLevel> LEVELS = List.of(ReadingLevel.A1, ReadingLevel.A2);
+  private static final AtomicInteger trials = new AtomicInteger();
+
+  private Path directory;
+  private Path a1File;
+  private String a1Words; // the shipped A1 list, without the moving word
+  private Dictionary dictionary;
+  private String[] probes;
+  private ReadingLevel[] expectedLevels;
+  private boolean listed; // whether A1 lists the moving word; written by the reloading thread only
+
+  /** Each thread's position in the probes, so threads share no counter. */
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+  }
+
+  @Setup(Level.Trial)
+  public void load() throws IOException {
+    DictionarySet shipped = DictionarySet.getDefault();
+    directory = Files.createTempDirectory("reload-benchmark");
+    // A set of its own, so the shared dictionary it gets is not the default set's
+    DictionarySet set =
+        new DictionarySet(
+            "reload-" + trials.incrementAndGet(),
+            "Reload",
+            LEVELS,
+            "Words_{level}.txt",
+            directory,
+            false);
+    for (ReadingLevel level : LEVELS) {
+      String words;
+      try (BufferedReader reader = shipped.open(level)) {
+        words = reader.lines().collect(Collectors.joining("\n", "", "\n"));
+      }
+      if (level.equals(ReadingLevel.A1)) a1Words = words;
+      else words += MOVING + "\n";
+      Files.writeString(directory.resolve(set.fileFor(level)), words);
+    }
+    a1File = directory.resolve(set.fileFor(ReadingLevel.A1));
+
+    Dictionary reference = new Dictionary(set, false);
+    List<String> all = reference.getAllWords();
+    probes = new String[1024];
+    expectedLevels = new ReadingLevel[probes.length];
+    for (int i = 0; i < probes.length; i++) {
+      String word = all.get((int) ((long) i * all.size() / probes.length));
+      probes[i] = i % 8 == 0 || word.equals(MOVING) ? "zz" + i : word;
+      expectedLevels[i] = reference.getLevelOfWord(probes[i]);
+    }
+
+    dictionary = Dictionary.getInstance(set);
+    // Only loaded levels are reloaded, so load them all first
+    dictionary.getLevelOfWord("");
+  }
+
+  @TearDown(Level.Trial)
+  public void delete() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  @Benchmark
+  @Group("reload")
+  @GroupThreads(3)
+  public ReadingLevel read(Cursor cursor) {
+    int i = cursor.next++ & (probes.length - 1);
+    ReadingLevel level = dictionary.getLevelOfWord(probes[i]);
+    if (!Objects.equals(level, expectedLevels[i])) {
+      throw new IllegalStateException(probes[i] + ": " + level + ", expected " + expectedLevels[i]);
+    }
+    ReadingLevel moving = dictionary.getLevelOfWord(MOVING);
+    if (!LEVELS.contains(moving)) {
+      throw new IllegalStateException(MOVING + ": " + moving + " during a reload");
+    }
+    return level;
+  }
+
+  /** Saves A1 with the moving word added or removed, then reloads it as the watcher would. */
+  @Benchmark
+  @Group("reload")
+  @GroupThreads(1)
+  public long reload() throws IOException {
+    listed = !listed;
+    // Replaced in one move, so the watcher never reads a half-written list
+    Path saved = Files.createTempFile(directory, "A1", ".tmp");
+    Files.writeString(saved, listed ? a1Words + MOVING + "\n" : a1Words);
+    Files.move(saved, a1File, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    Dictionary.reload(a1File);
+    return dictionary.getVersion();
+  }
+}
@@ -0,0 +1,54 @@
+package org.conradlco.learning.school.words;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Made-up word lists far larger than the shipped ones. Words are strung together from common
+ * English onsets and vowels, so their letter grams are spread roughly like real words'.
+ */
+final class SyntheticWords {
+
+  private static final String[] ONSETS = {
+    "", "b", "c", "d", "f", "g", "h", "l", "m", "n", "p", "r", "s", "t", "w", "ch", "sh", "th",
+    "st", "tr", "br", "cl", "gr", "pl"
+  };
+  private static final String[] VOWELS = {
+    "a", "e", "i", "o", "u", "ai", "ea", "ee", "oo", "ou", "ie", "oa", "ay", "ow", "er", "ar", "or"
+  };
+  private static final String[] CODAS = {"", "", "", "n", "t", "s", "ck", "ng", "ll", "st", "nd"};
+
+  private SyntheticWords() {}
+
+  /**
+   * Splits {@code total} untagged words evenly over the levels of the default set; the same seed
+   * gives the same lists.
+   */
+  static Map<ReadingLevel, WordList> generate(int total, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    List<ReadingLevel> levels = DictionarySet.getDefault().getLevels();
+    Map<ReadingLevel, WordList> words = new HashMap<>();
+    for (int l = 0; l < levels.size(); l++) {
+      ReadingLevel level = levels.get(l);
+      int count = total / levels.size() + (l < total % levels.size() ? 1 : 0);
+      String[] list = new String[count];
+      for (int i = 0; i < count; i++) {
+        list[i] = word(random);
+      }
+      words.put(level, WordList.of(list));
+    }
+    return words;
+  }
+
+  private static String word(SplittableRandom random) {
+    StringBuilder word = new StringBuilder();
+    int syllables = 1 + random.nextInt(4);
+    for (int s = 0; s < syllables; s++) {
+      word.append(ONSETS[random.nextInt(ONSETS.length)]);
+      word.append(VOWELS[random.nextInt(VOWELS.length)]);
+    }
+    return word.append(CODAS[random.nextInt(CODAS.length)]).toString();
+  }
+}
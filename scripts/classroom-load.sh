@@ -0,0 +1,13 @@
+#!/usr/bin/env bash
+# Load-tests a classroom server running on this machine, e.g.
+#
+#   java -cp target/classes org.conradlco.learning.school.Application --server &
+#   scripts/classroom-load.sh http://localhost:8080 200 30
+#
+# Arguments: [base url] [students] [seconds]. The load test lives in the benchmarks module, so
+# build it first: mvn install && mvn -f benchmarks/pom.xml package
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+exec java -cp benchmarks/target/benchmarks.jar \
+  org.conradlco.learning.school.server.ClassroomLoadTest "$@"
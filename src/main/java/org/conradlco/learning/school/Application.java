@@ -1,14 +1,44 @@
 package org.conradlco.learning.school;
 
+import java.io.IOException;
 import javax.swing.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.conradlco.learning.school.metrics.Metrics;
+import org.conradlco.learning.school.server.ClassroomServer;
 import org.conradlco.learning.school.ui.ExerciseSelectorWindow;
+import org.conradlco.learning.school.words.Dictionary;
 
 public class Application {
 
-  public static void main(String[] args) {
+  private static final Logger LOGGER = LogManager.getLogger(Application.class);
+
+  public static void main(String[] args) throws IOException {
+    if (Boolean.getBoolean("school.metrics")) {
+      // log4j2.xml leaves log4j's own shutdown hook off, so logging still works in this one
+      Runtime.getRuntime()
+          .addShutdownHook(
+              new Thread(() -> LOGGER.info("Metrics at exit:\n{}", Metrics.report().strip())));
+    }
+
+    // Load the word lists in the background so the game windows open without waiting
+    Dictionary.warmUp();
+
+    if (args.length > 0 && "--server".equals(args[0])) {
+      int port = args.length > 1 ? Integer.parseInt(args[1]) : ClassroomServer.DEFAULT_PORT;
+      startServer(port);
+      return;
+    }
+
     SwingUtilities.invokeLater(Application::createAndShowGUI);
   }
 
+  private static void startServer(int port) throws IOException {
+    ClassroomServer server = new ClassroomServer(Dictionary.warmUp().join(), port);
+    server.start();
+    LOGGER.info("Classroom server listening on http://localhost:{}/", server.getPort());
+  }
+
   private static void createAndShowGUI() {
     ExerciseSelectorWindow exerciseSelector = new ExerciseSelectorWindow();
     exerciseSelector.setVisible(true);
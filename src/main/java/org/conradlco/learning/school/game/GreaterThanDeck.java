@@ -0,0 +1,151 @@
+package org.conradlco.learning.school.game;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import org.conradlco.learning.school.game.GreaterThanSession.Answer;
+import org.conradlco.learning.school.numbers.WeightedRangeDistribution;
+
+/**
+ * A whole Greater Than game dealt up front: every pair is distinct as long as the ranges allow it,
+ * and the answers come out in the proportions of a {@link Mix}.
+ *
+ * <p>Pairs are kept in two int arrays and checked against an open-addressing set of packed longs,
+ * so a deck of thousands of questions is built in a few milliseconds. Immutable once built.
+ */
+public final class GreaterThanDeck {
+
+  /** Share of each answer in a deck, in any units; they are scaled to the deck size. */
+  public record Mix(int greater, int equal, int less) {
+    public Mix {
+      if (greater < 0 || equal < 0 || less < 0) {
+        throw new IllegalArgumentException("Answer shares must not be negative");
+      }
+      if (greater + equal + less <= 0) {
+        throw new IllegalArgumentException("Answer shares must not all be zero");
+      }
+    }
+  }
+
+  // Tries per question before a duplicate is accepted, e.g. 50 questions from the range 0..3
+  private static final int MAX_ATTEMPTS = 32;
+
+  private final int[] left;
+  private final int[] right;
+
+  private GreaterThanDeck(int[] left, int[] right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  /** Deals {@code size} questions from the distribution, shuffled, with answers in the mix. */
+  public static GreaterThanDeck generate(
+      int size, WeightedRangeDistribution distribution, Mix mix, RandomGenerator random) {
+    Answer[] answers = answers(size, mix, random);
+    int[] left = new int[size];
+    int[] right = new int[size];
+    PairSet seen = new PairSet(size);
+
+    for (int i = 0; i < size; i++) {
+      int a = 0;
+      int b = 0;
+      for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+        a = distribution.next(random);
+        if (answers[i] == Answer.EQUAL) {
+          b = a;
+        } else {
+          b = distribution.next(random);
+          if (a == b) continue;
+          // Order the pair so it has the answer this slot asks for
+          if ((a > b) != (answers[i] == Answer.GREATER)) {
+            int t = a;
+            a = b;
+            b = t;
+          }
+        }
+        if (!seen.contains(a, b)) break;
+      }
+      // If the ranges ran out of fresh pairs the last candidate stands, duplicate or not
+      seen.add(a, b);
+      left[i] = a;
+      right[i] = b;
+    }
+    return new GreaterThanDeck(left, right);
+  }
+
+  public int size() {
+    return left.length;
+  }
+
+  public int left(int question) {
+    return left[question];
+  }
+
+  public int right(int question) {
+    return right[question];
+  }
+
+  public Answer answer(int question) {
+    if (left[question] > right[question]) return Answer.GREATER;
+    if (left[question] == right[question]) return Answer.EQUAL;
+    return Answer.LESS;
+  }
+
+  /** The answer for every slot, in proportion to the mix and shuffled. */
+  private static Answer[] answers(int size, Mix mix, RandomGenerator random) {
+    int total = mix.greater() + mix.equal() + mix.less();
+    int equal = (int) Math.round((double) size * mix.equal() / total);
+    int greater = (int) Math.round((double) size * mix.greater() / total);
+    greater = Math.min(greater, size - equal);
+
+    Answer[] answers = new Answer[size];
+    Arrays.fill(answers, 0, equal, Answer.EQUAL);
+    Arrays.fill(answers, equal, equal + greater, Answer.GREATER);
+    Arrays.fill(answers, equal + greater, size, Answer.LESS);
+    for (int i = size - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      Answer t = answers[i];
+      answers[i] = answers[j];
+      answers[j] = t;
+    }
+    return answers;
+  }
+
+  /** Set of (left, right) pairs packed into longs, with linear probing. Numbers are never < 0. */
+  private static final class PairSet {
+    private static final long EMPTY = -1L;
+
+    private final long[] table;
+    private final int mask;
+
+    PairSet(int expected) {
+      // At most half full, so probes stay short
+      int capacity = Integer.highestOneBit(Math.max(8, expected) * 4 - 1);
+      table = new long[capacity];
+      mask = capacity - 1;
+      Arrays.fill(table, EMPTY);
+    }
+
+    boolean contains(int a, int b) {
+      long key = pack(a, b);
+      for (int i = slot(key); ; i = (i + 1) & mask) {
+        if (table[i] == key) return true;
+        if (table[i] == EMPTY) return false;
+      }
+    }
+
+    void add(int a, int b) {
+      long key = pack(a, b);
+      int i = slot(key);
+      while (table[i] != EMPTY && table[i] != key) i = (i + 1) & mask;
+      table[i] = key;
+    }
+
+    private int slot(long key) {
+      return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static long pack(int a, int b) {
+      return (long) a << 32 | b;
+    }
+  }
+}
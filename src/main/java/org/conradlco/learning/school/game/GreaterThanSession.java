@@ -0,0 +1,170 @@
+package org.conradlco.learning.school.game;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+import org.conradlco.learning.school.metrics.AnswerEvent;
+import org.conradlco.learning.school.metrics.Counter;
+import org.conradlco.learning.school.metrics.Metrics;
+import org.conradlco.learning.school.numbers.WeightedRange;
+import org.conradlco.learning.school.numbers.WeightedRangeDistribution;
+
+/**
+ * The rules of one Greater Than game, independent of any UI: deal a {@link GreaterThanDeck} of
+ * pairs drawn from weighted ranges and score each comparison.
+ *
+ * <p>Like {@link WordReadingSession}, a session is driven by one thread at a time.
+ */
+public class GreaterThanSession {
+
+  public enum Answer {
+    GREATER,
+    EQUAL,
+    LESS
+  }
+
+  public static final int DEFAULT_TOTAL_QUESTIONS = 20;
+
+  /** 0..20 most of the time, with the occasional larger number. Weights are percentages. */
+  public static final List<WeightedRange> DEFAULT_RANGES =
+      List.of(new WeightedRange(20, 60), new WeightedRange(50, 30), new WeightedRange(200, 10));
+
+  /** Mostly greater or less, with the occasional equal pair. */
+  public static final GreaterThanDeck.Mix DEFAULT_MIX = new GreaterThanDeck.Mix(45, 10, 45);
+
+  private static final Counter ANSWERS = Metrics.counter("greater-than.answers");
+
+  private final RandomGenerator random;
+
+  // Configuration for the next deck
+  private int totalQuestions;
+  private WeightedRangeDistribution distribution = new WeightedRangeDistribution(DEFAULT_RANGES);
+  private GreaterThanDeck.Mix mix = DEFAULT_MIX;
+
+  private GreaterThanDeck deck;
+  private int currentQuestionIndex = 0;
+  private int score = 0;
+
+  public GreaterThanSession() {
+    this(DEFAULT_TOTAL_QUESTIONS, RandomGenerator.getDefault());
+  }
+
+  public GreaterThanSession(int totalQuestions, RandomGenerator random) {
+    setTotalQuestions(totalQuestions);
+    this.random = random;
+  }
+
+  /** Replaces the weighted ranges used for the next deck. */
+  public void setWeightedRanges(List<WeightedRange> ranges) {
+    distribution = new WeightedRangeDistribution(ranges);
+  }
+
+  public List<WeightedRange> getWeightedRanges() {
+    return distribution.getRanges();
+  }
+
+  /** Sets the number of questions in the next deck. */
+  public void setTotalQuestions(int totalQuestions) {
+    this.totalQuestions = Math.max(1, totalQuestions);
+  }
+
+  /**
+   * The number of questions the next deck will have. The deck in play may differ if the setting
+   * changed since it was dealt; {@link #getTotalQuestions()} gives its size.
+   */
+  public int getConfiguredQuestions() {
+    return totalQuestions;
+  }
+
+  /** Sets the proportions of greater, equal and less answers in the next deck. */
+  public void setAnswerMix(GreaterThanDeck.Mix mix) {
+    this.mix = mix;
+  }
+
+  public GreaterThanDeck.Mix getAnswerMix() {
+    return mix;
+  }
+
+  /** Deals a deck from the current settings on this thread. */
+  public GreaterThanDeck newDeck() {
+    return GreaterThanDeck.generate(totalQuestions, distribution, mix, random);
+  }
+
+  /**
+   * Deals a deck from the current settings on a background thread. Later changes to the settings
+   * do not affect a deck already being dealt.
+   */
+  public CompletableFuture<GreaterThanDeck> newDeckAsync() {
+    int size = totalQuestions;
+    WeightedRangeDistribution ranges = distribution;
+    GreaterThanDeck.Mix answers = mix;
+    // The session's generator belongs to the thread driving it, so the deck gets its own
+    return CompletableFuture.supplyAsync(
+        () -> GreaterThanDeck.generate(size, ranges, answers, RandomGenerator.getDefault()));
+  }
+
+  /** Resets the score and deals a new deck on this thread. */
+  public void start() {
+    start(newDeck());
+  }
+
+  /** Resets the score and plays the given deck. */
+  public void start(GreaterThanDeck deck) {
+    this.deck = deck;
+    currentQuestionIndex = 0;
+    score = 0;
+  }
+
+  /**
+   * Scores the current pair, moves to the next one and returns whether the answer was right.
+   *
+   * @throws IllegalStateException if no game has started or the deck is finished
+   */
+  public boolean answer(Answer chosen) {
+    if (deck == null || isFinished()) {
+      throw new IllegalStateException("No pair to answer; start a new game first");
+    }
+    boolean isCorrect = chosen == correctAnswer();
+    if (isCorrect) score++;
+
+    currentQuestionIndex++;
+
+    ANSWERS.increment();
+    AnswerEvent event = new AnswerEvent();
+    if (event.shouldCommit()) {
+      event.game = "Greater Than";
+      event.correct = isCorrect;
+      event.commit();
+    }
+    return isCorrect;
+  }
+
+  public Answer correctAnswer() {
+    return deck.answer(currentQuestionIndex);
+  }
+
+  public boolean isFinished() {
+    return currentQuestionIndex >= getTotalQuestions();
+  }
+
+  public int getLeft() {
+    return deck.left(currentQuestionIndex);
+  }
+
+  public int getRight() {
+    return deck.right(currentQuestionIndex);
+  }
+
+  public int getCurrentQuestionIndex() {
+    return currentQuestionIndex;
+  }
+
+  /** The size of the deck in play, or of the next deck before the first game. */
+  public int getTotalQuestions() {
+    return deck != null ? deck.size() : totalQuestions;
+  }
+
+  public int getScore() {
+    return score;
+  }
+}
@@ -0,0 +1,344 @@
+package org.conradlco.learning.school.game;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.conradlco.learning.school.words.DictionarySet;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * Keeps a learner's {@link ReadingProgress} on disk as an append-only journal of answers plus
+ * periodic snapshots.
+ *
+ * <p>Answers are queued and written by a background thread, which commits everything queued so
+ * far with a single write and sync. Every {@value #SNAPSHOT_INTERVAL} answers it writes a snapshot
+ * of the compacted progress and starts a new journal segment, deleting the segments the snapshot
+ * covers. Opening the journal loads the latest snapshot and replays only the segments after it,
+ * so restoring stays fast however many answers have been recorded.
+ *
+ * <p>Files in the directory: {@code snapshot.txt} and {@code journal-<first sequence>.log}. A
+ * journal line is {@code sequence, time, C|W, set/level or set/-, word}, tab separated. The
+ * snapshot holds the covered sequence, the correct words as {@code set/level, word} and the words
+ * under review as {@code review, set/level, box, due time, word}. A level without a set was
+ * written before progress was kept per set, and belongs to the default set.
+ */
+public final class ProgressJournal implements Closeable {
+
+  private static final Logger LOGGER = LogManager.getLogger(ProgressJournal.class);
+
+  public static final Path DEFAULT_DIRECTORY =
+      Path.of(System.getProperty("user.home"), ".school-learning", "progress");
+
+  static final int SNAPSHOT_INTERVAL = 500;
+
+  private static final String SNAPSHOT = "snapshot.txt";
+  private static final String REVIEW = "review";
+  private static final String SEGMENT_PREFIX = "journal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final int MAX_BATCH = 256;
+
+  private static ProgressJournal defaultJournal;
+
+  private final Path directory;
+  private final ReadingProgress progress;
+  private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+  private final Thread writer;
+
+  // Owned by the writer thread
+  private final ReadingProgress compacted = new ReadingProgress();
+  private long nextSequence;
+  private long lastSnapshotSequence;
+  private FileChannel segment;
+
+  private volatile boolean closed;
+
+  private ProgressJournal(Path directory) throws IOException {
+    this.directory = directory;
+    Files.createDirectories(directory);
+
+    progress = new ReadingProgress(this);
+    lastSnapshotSequence = readSnapshot();
+    nextSequence = replaySegments(lastSnapshotSequence) + 1;
+
+    writer = Thread.ofPlatform().name("progress-journal").daemon().start(this::writeLoop);
+  }
+
+  /** Opens the journal in the directory, restoring the progress it holds. */
+  public static ProgressJournal open(Path directory) throws IOException {
+    return new ProgressJournal(directory);
+  }
+
+  /**
+   * Returns the journal in {@link #DEFAULT_DIRECTORY}, opening it on first use. It is closed, and a
+   * final snapshot written, when the application exits.
+   */
+  public static synchronized ProgressJournal getDefault() {
+    if (defaultJournal == null) {
+      try {
+        defaultJournal = open(DEFAULT_DIRECTORY);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      Runtime.getRuntime().addShutdownHook(new Thread(defaultJournal::close));
+    }
+    return defaultJournal;
+  }
+
+  /** The restored progress; answers recorded through it are journalled. */
+  public ReadingProgress getProgress() {
+    return progress;
+  }
+
+  void append(SetLevel level, String word, boolean correct, long time) {
+    if (closed) return;
+    queue.add(new Entry(time, level, word, correct));
+  }
+
+  /** Writes everything queued, takes a final snapshot and stops the writer thread. */
+  @Override
+  public void close() {
+    if (closed) return;
+    closed = true;
+    queue.add(Entry.CLOSE);
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void writeLoop() {
+    List<Entry> batch = new ArrayList<>();
+    boolean running = true;
+    while (running) {
+      try {
+        batch.add(queue.take());
+        queue.drainTo(batch, MAX_BATCH - 1);
+
+        int end = batch.indexOf(Entry.CLOSE);
+        if (end >= 0) {
+          batch.subList(end, batch.size()).clear();
+          running = false;
+        }
+
+        if (!batch.isEmpty()) {
+          commit(batch);
+        }
+        if (!running || nextSequence - 1 - lastSnapshotSequence >= SNAPSHOT_INTERVAL) {
+          snapshot();
+        }
+      } catch (InterruptedException e) {
+        running = false;
+      } catch (IOException | RuntimeException e) {
+        // The batch is lost, but the writer keeps going so later answers are still saved
+        LOGGER.error("Could not write progress journal in {}", directory, e);
+      } finally {
+        batch.clear();
+      }
+    }
+    closeSegment();
+  }
+
+  /** Appends the batch to the current segment with one write and one sync. */
+  private void commit(List<Entry> batch) throws IOException {
+    if (segment == null) {
+      segment =
+          FileChannel.open(
+              directory.resolve(segmentName(nextSequence)),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.APPEND);
+    }
+
+    StringBuilder lines = new StringBuilder();
+    for (Entry e : batch) {
+      long sequence = nextSequence++;
+      lines
+          .append(sequence)
+          .append('\t')
+          .append(e.time)
+          .append('\t')
+          .append(e.correct ? 'C' : 'W')
+          .append('\t')
+          .append(e.level)
+          .append('\t')
+          .append(e.word)
+          .append('\n');
+      compacted.apply(e.level, e.word, e.correct, e.time);
+    }
+
+    ByteBuffer bytes = StandardCharsets.UTF_8.encode(lines.toString());
+    while (bytes.hasRemaining()) {
+      segment.write(bytes);
+    }
+    segment.force(false);
+  }
+
+  /**
+   * Writes the compacted progress up to the last committed answer, then drops the journal
+   * segments it covers. The next answer starts a new segment.
+   */
+  private void snapshot() throws IOException {
+    long covered = nextSequence - 1;
+    if (covered == lastSnapshotSequence) return;
+
+    Path tmp = directory.resolve(SNAPSHOT + ".tmp");
+    try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+      out.write("sequence\t" + covered + "\n");
+      for (SetLevel level : compacted.getLevels()) {
+        for (String word : compacted.getCorrectWords(level)) {
+          out.write(level + "\t" + word + "\n");
+        }
+      }
+      for (ReviewScheduler.Card card : compacted.getReviews().cards()) {
+        out.write(
+            String.join(
+                    "\t",
+                    REVIEW,
+                    card.level.toString(),
+                    String.valueOf(card.box),
+                    String.valueOf(card.dueTime),
+                    card.word)
+                + "\n");
+      }
+    }
+    Files.move(
+        tmp,
+        directory.resolve(SNAPSHOT),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    lastSnapshotSequence = covered;
+
+    closeSegment();
+    for (Path old : segments()) {
+      Files.deleteIfExists(old);
+    }
+  }
+
+  /** Loads the snapshot into both progress copies and returns the last sequence it covers. */
+  private long readSnapshot() throws IOException {
+    Path file = directory.resolve(SNAPSHOT);
+    if (!Files.exists(file)) return 0;
+
+    long covered = 0;
+    try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        String[] fields = line.split("\t", 2);
+        if (fields.length < 2) continue;
+        if (fields[0].equals("sequence")) {
+          covered = Long.parseLong(fields[1]);
+        } else if (fields[0].equals(REVIEW)) {
+          String[] card = fields[1].split("\t", 4);
+          SetLevel level = card.length < 4 ? null : parseLevel(card[0]);
+          if (level == null || level.level() == null) continue;
+          int box = Integer.parseInt(card[1]);
+          long due = Long.parseLong(card[2]);
+          progress.getReviews().restore(level, card[3], box, due);
+          compacted.getReviews().restore(level, card[3], box, due);
+        } else {
+          SetLevel level = parseLevel(fields[0]);
+          if (level == null || level.level() == null) continue;
+          progress.restoreCorrect(level, fields[1]);
+          compacted.restoreCorrect(level, fields[1]);
+        }
+      }
+    }
+    return covered;
+  }
+
+  /** Replays the journal entries after the snapshot and returns the last sequence seen. */
+  private long replaySegments(long after) throws IOException {
+    long last = after;
+    for (Path file : segments()) {
+      try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = in.readLine()) != null) {
+          String[] fields = line.split("\t", 5);
+          // Skip a torn final line left by a crash mid-write
+          if (fields.length < 5) continue;
+          long sequence;
+          long time;
+          try {
+            sequence = Long.parseLong(fields[0]);
+            time = Long.parseLong(fields[1]);
+          } catch (NumberFormatException e) {
+            continue;
+          }
+          if (sequence <= after) continue;
+
+          SetLevel level = parseLevel(fields[3]);
+          if (level == null) continue;
+          boolean correct = fields[2].equals("C");
+          progress.apply(level, fields[4], correct, time);
+          compacted.apply(level, fields[4], correct, time);
+          last = Math.max(last, sequence);
+        }
+      }
+    }
+    return last;
+  }
+
+  /** Journal segments, oldest first. */
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(
+              p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+              })
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static String segmentName(long firstSequence) {
+    // Zero-padded so segments sort by name
+    return String.format("%s%019d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+  }
+
+  /** Parses "set/level" or "set/-"; returns null if the level name is not valid. */
+  private static SetLevel parseLevel(String field) {
+    int slash = field.indexOf('/');
+    String set = slash >= 0 ? field.substring(0, slash) : DictionarySet.getDefault().getId();
+    String name = field.substring(slash + 1);
+    if (name.equals("-")) return new SetLevel(set, null);
+    try {
+      // Any set and level is kept, so progress survives the set that defined it being removed
+      return new SetLevel(set, new ReadingLevel(name));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private void closeSegment() {
+    if (segment == null) return;
+    try {
+      segment.close();
+    } catch (IOException e) {
+      LOGGER.warn("Could not close progress journal in {}", directory, e);
+    }
+    segment = null;
+  }
+
+  private record Entry(long time, SetLevel level, String word, boolean correct) {
+    static final Entry CLOSE = new Entry(0, null, null, false);
+  }
+}
@@ -0,0 +1,84 @@
+package org.conradlco.learning.school.game;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.conradlco.learning.school.words.DictionarySet;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * The distinct words one learner has read correctly, per reading level, and the words they are
+ * due to review, kept per dictionary set since two sets may both have e.g. an "A1" level. When
+ * restored from a {@link ProgressJournal} every answer is also written to the journal.
+ */
+public class ReadingProgress {
+
+  // Created as levels are first used, since levels come from the dictionary manifest
+  private final Map<SetLevel, Set<String>> correctWordsPerLevel = new HashMap<>();
+
+  private final ReviewScheduler reviews = new ReviewScheduler();
+
+  private final ProgressJournal journal; // null when progress is kept in memory only
+
+  public ReadingProgress() {
+    this(null);
+  }
+
+  ReadingProgress(ProgressJournal journal) {
+    this.journal = journal;
+  }
+
+  /**
+   * Records one answer to a word of the set. The level may be null when the word's level is
+   * unknown.
+   */
+  public void recordAnswer(DictionarySet set, ReadingLevel level, String word, boolean correct) {
+    long time = System.currentTimeMillis();
+    SetLevel setLevel = new SetLevel(set.getId(), level);
+    apply(setLevel, word, correct, time);
+    if (journal != null) {
+      journal.append(setLevel, word, correct, time);
+    }
+  }
+
+  /**
+   * Returns up to {@code limit} previously missed words of the set that are due for review now,
+   * earliest first. A null level takes due words from every level of the set.
+   */
+  public List<String> takeDueWords(DictionarySet set, ReadingLevel level, int limit) {
+    return reviews.takeDue(set.getId(), level, System.currentTimeMillis(), limit);
+  }
+
+  public int getCorrectCount(DictionarySet set, ReadingLevel level) {
+    return correctWordsPerLevel.getOrDefault(new SetLevel(set.getId(), level), Set.of()).size();
+  }
+
+  /** Every level with a word read correctly. */
+  Set<SetLevel> getLevels() {
+    return Collections.unmodifiableSet(correctWordsPerLevel.keySet());
+  }
+
+  Set<String> getCorrectWords(SetLevel level) {
+    return Collections.unmodifiableSet(correctWordsPerLevel.getOrDefault(level, Set.of()));
+  }
+
+  ReviewScheduler getReviews() {
+    return reviews;
+  }
+
+  /** Updates the in-memory state without journalling, e.g. while replaying the journal. */
+  void apply(SetLevel level, String word, boolean correct, long time) {
+    if (correct && level.level() != null) {
+      restoreCorrect(level, word);
+    }
+    reviews.record(level.set(), level.level(), word, correct, time);
+  }
+
+  /** Restores a word read correctly, as saved in a snapshot. */
+  void restoreCorrect(SetLevel level, String word) {
+    correctWordsPerLevel.computeIfAbsent(level, l -> new HashSet<>()).add(word);
+  }
+}
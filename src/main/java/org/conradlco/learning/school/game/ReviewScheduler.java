@@ -0,0 +1,163 @@
+package org.conradlco.learning.school.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * Leitner-box spaced repetition for words the learner got wrong. A wrong answer puts the word in
+ * the first box, due straight away; each correct answer moves it up a box with a longer wait,
+ * until it leaves the last box and counts as learned.
+ *
+ * <p>Words are tracked per dictionary set, so a word in two sets is reviewed in each separately.
+ * Due times are kept in one priority queue per level, so taking the next k due words costs
+ * O(k log n) however many words are being tracked. Rescheduling pushes a new queue entry and
+ * leaves the old one to be discarded when it surfaces.
+ */
+public class ReviewScheduler {
+
+  /** Wait before a word in each box is due again. */
+  static final long[] BOX_INTERVALS_MILLIS = {
+    0,
+    TimeUnit.DAYS.toMillis(1),
+    TimeUnit.DAYS.toMillis(3),
+    TimeUnit.DAYS.toMillis(7),
+    TimeUnit.DAYS.toMillis(14)
+  };
+
+  private final Map<CardKey, Card> cards = new HashMap<>();
+  // Created as levels are first used, since levels come from the dictionary manifest
+  private final Map<SetLevel, PriorityQueue<Due>> queues = new HashMap<>();
+
+  /** Updates the word's box in the set for an answer given at {@code time}. */
+  public void record(String set, ReadingLevel level, String word, boolean correct, long time) {
+    if (level == null) return;
+
+    Card card = cards.get(new CardKey(set, word));
+    if (card == null) {
+      // Only words the learner has got wrong are tracked
+      if (!correct) schedule(new Card(word, new SetLevel(set, level)), 1, time);
+      return;
+    }
+
+    if (!correct) {
+      schedule(card, 1, time);
+    } else if (card.box >= BOX_INTERVALS_MILLIS.length) {
+      cards.remove(card.key());
+    } else {
+      schedule(card, card.box + 1, time + BOX_INTERVALS_MILLIS[card.box]);
+    }
+  }
+
+  /**
+   * Returns up to {@code limit} words of the set due at {@code now}, earliest first. A null level
+   * takes due words from every level of the set. The words stay scheduled until they are
+   * answered.
+   */
+  public List<String> takeDue(String set, ReadingLevel level, long now, int limit) {
+    Collection<PriorityQueue<Due>> candidates = new ArrayList<>();
+    if (level != null) {
+      candidates.add(queue(new SetLevel(set, level)));
+    } else {
+      queues.forEach(
+          (l, queue) -> {
+            if (l.set().equals(set)) candidates.add(queue);
+          });
+    }
+
+    List<Due> taken = new ArrayList<>();
+    while (taken.size() < limit) {
+      PriorityQueue<Due> earliest = null;
+      for (PriorityQueue<Due> queue : candidates) {
+        Due head = queue.peek();
+        if (head != null && (earliest == null || head.compareTo(earliest.peek()) < 0)) {
+          earliest = queue;
+        }
+      }
+      if (earliest == null || earliest.peek().time > now) break;
+
+      Due due = earliest.poll();
+      if (due.isCurrent()) taken.add(due);
+    }
+
+    List<String> words = new ArrayList<>(taken.size());
+    for (Due due : taken) {
+      words.add(due.card.word);
+      queue(due.card.level).add(due);
+    }
+    return words;
+  }
+
+  /** Number of words currently being reviewed. */
+  public int size() {
+    return cards.size();
+  }
+
+  Collection<Card> cards() {
+    return Collections.unmodifiableCollection(cards.values());
+  }
+
+  /** Restores a card exactly as it was saved in a snapshot. */
+  void restore(SetLevel level, String word, int box, long dueTime) {
+    schedule(new Card(word, level), box, dueTime);
+  }
+
+  private void schedule(Card card, int box, long dueTime) {
+    card.box = box;
+    card.dueTime = dueTime;
+    card.version++;
+    cards.put(card.key(), card);
+    queue(card.level).add(new Due(dueTime, card, card.version));
+  }
+
+  private PriorityQueue<Due> queue(SetLevel level) {
+    return queues.computeIfAbsent(level, l -> new PriorityQueue<>());
+  }
+
+  private record CardKey(String set, String word) {}
+
+  static final class Card {
+    final String word;
+    final SetLevel level;
+    int box;
+    long dueTime;
+    int version;
+
+    Card(String word, SetLevel level) {
+      this.word = word;
+      this.level = level;
+    }
+
+    CardKey key() {
+      return new CardKey(level.set(), word);
+    }
+  }
+
+  private final class Due implements Comparable<Due> {
+    final long time;
+    final Card card;
+    final int version;
+
+    Due(long time, Card card, int version) {
+      this.time = time;
+      this.card = card;
+      this.version = version;
+    }
+
+    /** False once the card has been rescheduled, learned or replaced. */
+    boolean isCurrent() {
+      return card.version == version && cards.get(card.key()) == card;
+    }
+
+    @Override
+    public int compareTo(Due other) {
+      return Long.compare(time, other.time);
+    }
+  }
+}
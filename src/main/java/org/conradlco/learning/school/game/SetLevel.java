@@ -0,0 +1,16 @@
+package org.conradlco.learning.school.game;
+
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * A reading level of one dictionary set, by set id, so sets with levels of the same name keep
+ * separate progress. The level is null for answers to words whose level is unknown.
+ */
+record SetLevel(String set, ReadingLevel level) {
+
+  /** As written to the progress journal: "set/level", or "set/-" with no level. */
+  @Override
+  public String toString() {
+    return set + "/" + (level != null ? level.name() : "-");
+  }
+}
@@ -0,0 +1,163 @@
+package org.conradlco.learning.school.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import org.conradlco.learning.school.metrics.AnswerEvent;
+import org.conradlco.learning.school.metrics.Counter;
+import org.conradlco.learning.school.metrics.Metrics;
+import org.conradlco.learning.school.words.Dictionary;
+import org.conradlco.learning.school.words.PartOfSpeech;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * The rules of one Word Reading game, independent of any UI: build a deck of words, show them one
+ * at a time and score each answer.
+ *
+ * <p>A session belongs to one learner and is driven by one thread at a time. Sessions share
+ * nothing mutable except the learner's {@link ReadingProgress}, so any number of them can run
+ * side by side, e.g. one per virtual thread.
+ */
+public class WordReadingSession {
+
+  /** The most words one game deals; repeats top up small levels, so the deck is held in full. */
+  public static final int MAX_QUESTIONS = 10_000;
+
+  private static final Counter ANSWERS = Metrics.counter("word-reading.answers");
+
+  private final Dictionary dictionary;
+  private final ReadingProgress progress;
+  private final ReadingLevel level; // null when playing all levels
+  private final int totalQuestions;
+  private final RandomGenerator random;
+  private PartOfSpeech partOfSpeech; // null for every word
+
+  private final List<String> words = new ArrayList<>();
+  private final List<String> wrongWords = new ArrayList<>(); // words answered incorrectly
+  private int currentIndex = 0;
+  private int score = 0;
+
+  public WordReadingSession(
+      Dictionary dictionary, ReadingProgress progress, ReadingLevel level, int totalQuestions) {
+    this(dictionary, progress, level, totalQuestions, RandomGenerator.getDefault());
+  }
+
+  public WordReadingSession(
+      Dictionary dictionary,
+      ReadingProgress progress,
+      ReadingLevel level,
+      int totalQuestions,
+      RandomGenerator random) {
+    this.dictionary = dictionary;
+    this.progress = progress;
+    this.level = level;
+    this.totalQuestions = Math.clamp(totalQuestions, 1, MAX_QUESTIONS);
+    this.random = random;
+  }
+
+  /** Limits the next deck to words of one part of speech, e.g. nouns only; null for every word. */
+  public void setPartOfSpeech(PartOfSpeech partOfSpeech) {
+    this.partOfSpeech = partOfSpeech;
+  }
+
+  public PartOfSpeech getPartOfSpeech() {
+    return partOfSpeech;
+  }
+
+  /**
+   * Deals a fresh deck and resets the score. Words due for review come first, topped up with other
+   * words from the level. Returns false if there are no words to play, in which case the session
+   * is already finished.
+   */
+  public boolean start() {
+    words.clear();
+    wrongWords.clear();
+    currentIndex = 0;
+    score = 0;
+
+    for (String due : progress.takeDueWords(dictionary.getSet(), level, totalQuestions)) {
+      // Words since dropped from the list are skipped; other parts of speech stay due for later
+      Set<ReadingLevel> levels = dictionary.getLevelsOfWord(due);
+      if (level != null ? !levels.contains(level) : levels.isEmpty()) continue;
+      if (partOfSpeech == null || dictionary.getPartsOfSpeech(due).contains(partOfSpeech)) {
+        words.add(due);
+      }
+    }
+
+    // Top up with new words. Sampling a full deck leaves enough after skipping the review words.
+    Set<String> inDeck = new HashSet<>(words);
+    List<String> sampled = dictionary.sampleWords(level, partOfSpeech, totalQuestions, random);
+    for (String word : sampled) {
+      if (words.size() >= totalQuestions) break;
+      if (inDeck.add(word)) words.add(word);
+    }
+    // If there are fewer words than needed, pick randomly until we have enough (allow repeats)
+    while (!sampled.isEmpty() && words.size() < totalQuestions) {
+      words.add(sampled.get(random.nextInt(sampled.size())));
+    }
+
+    // Mix the review words in with the new ones
+    Collections.shuffle(words, random);
+    return !words.isEmpty();
+  }
+
+  /** Returns the word to read next, or null once the game is finished. */
+  public String currentWord() {
+    return currentIndex < words.size() ? words.get(currentIndex) : null;
+  }
+
+  public boolean isFinished() {
+    return currentIndex >= words.size();
+  }
+
+  /** Scores the current word and moves on to the next one. */
+  public void markAnswer(boolean wasCorrect) {
+    String currentWord = currentWord();
+    if (currentWord == null) return;
+
+    if (wasCorrect) {
+      score++;
+    } else {
+      wrongWords.add(currentWord);
+    }
+    // record the answer against the word's level; in "All" games resolve it from the dictionary
+    ReadingLevel rl = level != null ? level : dictionary.getLevelOfWord(currentWord);
+    progress.recordAnswer(dictionary.getSet(), rl, currentWord, wasCorrect);
+    currentIndex++;
+
+    ANSWERS.increment();
+    AnswerEvent event = new AnswerEvent();
+    if (event.shouldCommit()) {
+      event.game = "Word Reading";
+      event.correct = wasCorrect;
+      event.commit();
+    }
+  }
+
+  public ReadingLevel getLevel() {
+    return level;
+  }
+
+  public int getTotalQuestions() {
+    return totalQuestions;
+  }
+
+  public int getCurrentIndex() {
+    return currentIndex;
+  }
+
+  public int getRemaining() {
+    return Math.max(0, totalQuestions - currentIndex);
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public List<String> getWrongWords() {
+    return Collections.unmodifiableList(wrongWords);
+  }
+}
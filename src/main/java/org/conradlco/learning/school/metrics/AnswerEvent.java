@@ -0,0 +1,19 @@
+package org.conradlco.learning.school.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event for a learner's answer in one of the games. */
+@Name("org.conradlco.school.Answer")
+@Label("Answer")
+@Category({"School", "Game"})
+public final class AnswerEvent extends Event {
+
+  @Label("Game")
+  public String game;
+
+  @Label("Correct")
+  public boolean correct;
+}
@@ -0,0 +1,64 @@
+package org.conradlco.learning.school.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count of events, e.g. answers given, with how many came in the last minute. The minute is kept
+ * as a ring of one-second slots, each holding its second and count in one long so a slot is reused
+ * atomically. Never locks.
+ */
+public final class Counter {
+
+  private static final int SECONDS = 60;
+  private static final long START = System.nanoTime();
+
+  private final LongAdder total = new LongAdder();
+  // Second since START in the high 32 bits, events in that second in the low 32
+  private final AtomicLongArray slots = new AtomicLongArray(SECONDS);
+
+  Counter() {}
+
+  public void increment() {
+    add(1);
+  }
+
+  public void add(long events) {
+    total.add(events);
+    long now = now();
+    int i = (int) (now % SECONDS);
+    while (true) {
+      long slot = slots.get(i);
+      long next = slot >>> 32 == now ? slot + events : now << 32 | events;
+      if (slots.compareAndSet(i, slot, next)) return;
+    }
+  }
+
+  public long count() {
+    return total.sum();
+  }
+
+  /** Events in the last sixty seconds, including the current one. */
+  public long lastMinute() {
+    long now = now();
+    long events = 0;
+    for (int i = 0; i < SECONDS; i++) {
+      long slot = slots.get(i);
+      if (now - (slot >>> 32) < SECONDS) events += slot & 0xFFFF_FFFFL;
+    }
+    return events;
+  }
+
+  Map<String, Object> summary() {
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("count", count());
+    summary.put("lastMinute", lastMinute());
+    return summary;
+  }
+
+  private static long now() {
+    return (System.nanoTime() - START) / 1_000_000_000L;
+  }
+}
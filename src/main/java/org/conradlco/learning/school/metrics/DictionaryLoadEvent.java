@@ -0,0 +1,29 @@
+package org.conradlco.learning.school.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event for loading a level's words and building its indexes. */
+@Name("org.conradlco.school.DictionaryLoad")
+@Label("Dictionary Load")
+@Category({"School", "Dictionary"})
+@Description("A reading level's word list loaded, or the indexes across every level built")
+public final class DictionaryLoadEvent extends Event {
+
+  @Label("Dictionary Set")
+  public String set;
+
+  @Label("Level")
+  @Description("The level loaded, or All for the indexes across every level")
+  public String level;
+
+  @Label("Words")
+  public int words;
+
+  @Label("Reload")
+  @Description("Whether the word list was edited while running")
+  public boolean reload;
+}
@@ -0,0 +1,28 @@
+package org.conradlco.learning.school.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event for a dictionary search. */
+@Name("org.conradlco.school.DictionaryQuery")
+@Label("Dictionary Query")
+@Category({"School", "Dictionary"})
+public final class DictionaryQueryEvent extends Event {
+
+  @Label("Query")
+  public String query;
+
+  @Label("Argument")
+  public String argument;
+
+  @Label("Level")
+  public String level;
+
+  @Label("Part of Speech")
+  public String partOfSpeech;
+
+  @Label("Results")
+  public int results;
+}
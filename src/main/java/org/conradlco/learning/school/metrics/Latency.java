@@ -0,0 +1,39 @@
+package org.conradlco.learning.school.metrics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * How long an operation takes, e.g. a dictionary query: a {@link Histogram} of durations, reported
+ * in milliseconds.
+ */
+public final class Latency {
+
+  private final Histogram nanos = new Histogram();
+
+  Latency() {}
+
+  /** Records the time since {@code startNanos}, a reading of {@link System#nanoTime()}. */
+  public void recordSince(long startNanos) {
+    nanos.record(System.nanoTime() - startNanos);
+  }
+
+  /** Runs the operation and records how long it took, whether or not it throws. */
+  public <T> T time(Supplier<T> operation) {
+    long start = System.nanoTime();
+    try {
+      return operation.get();
+    } finally {
+      recordSince(start);
+    }
+  }
+
+  /** The recorded durations, in nanoseconds. */
+  public Histogram histogram() {
+    return nanos;
+  }
+
+  Map<String, Object> summary() {
+    return nanos.summary(1_000_000.0);
+  }
+}
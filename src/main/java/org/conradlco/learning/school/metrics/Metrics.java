@@ -0,0 +1,81 @@
+package org.conradlco.learning.school.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The application's counters, latencies and histograms, by name, e.g. "dictionary.query". Callers
+ * look a metric up once and keep it in a static field; recording is then lock-free. The same
+ * operations are also emitted as Flight Recorder events (see {@link DictionaryQueryEvent} and the
+ * others in this package) for profiling a session in detail.
+ *
+ * <pre>
+ * java -XX:StartFlightRecording:filename=school.jfr ... Application
+ * jfr print --categories School school.jfr
+ * </pre>
+ */
+public final class Metrics {
+
+  private static final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<>();
+
+  private Metrics() {}
+
+  public static Counter counter(String name) {
+    return get(name, Counter.class);
+  }
+
+  public static Latency latency(String name) {
+    return get(name, Latency.class);
+  }
+
+  public static Histogram histogram(String name) {
+    return get(name, Histogram.class);
+  }
+
+  /**
+   * A summary of every metric by name: counts and last-minute counts for counters, and count,
+   * mean, median, 99th percentile and maximum for histograms and latencies (in milliseconds).
+   */
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    new TreeMap<>(metrics)
+        .forEach(
+            (name, metric) ->
+                snapshot.put(
+                    name,
+                    switch (metric) {
+                      case Counter counter -> counter.summary();
+                      case Latency latency -> latency.summary();
+                      case Histogram histogram -> histogram.summary(1);
+                      default -> throw new IllegalStateException(name);
+                    }));
+    return snapshot;
+  }
+
+  /** The snapshot as text, one metric per line. */
+  public static String report() {
+    StringBuilder report = new StringBuilder();
+    snapshot()
+        .forEach((name, summary) -> report.append(name).append(' ').append(summary).append('\n'));
+    return report.toString();
+  }
+
+  private static <T> T get(String name, Class<T> type) {
+    Object metric =
+        metrics.computeIfAbsent(
+            name,
+            n -> {
+              if (type == Counter.class) return new Counter();
+              if (type == Latency.class) return new Latency();
+              return new Histogram();
+            });
+    if (!type.isInstance(metric)) {
+      throw new IllegalArgumentException(
+          "Metric " + name + " is a " + metric.getClass().getSimpleName());
+    }
+    return type.cast(metric);
+  }
+}
@@ -0,0 +1,16 @@
+package org.conradlco.learning.school.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event for building and showing an exercise window. */
+@Name("org.conradlco.school.WindowOpen")
+@Label("Window Open")
+@Category({"School", "UI"})
+public final class WindowOpenEvent extends Event {
+
+  @Label("Window")
+  public String window;
+}
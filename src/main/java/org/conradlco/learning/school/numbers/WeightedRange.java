@@ -0,0 +1,10 @@
+package org.conradlco.learning.school.numbers;
+
+/** Numbers 0..max, chosen with the given relative weight. */
+public record WeightedRange(int max, int weight) {
+
+  public WeightedRange {
+    if (max < 0) throw new IllegalArgumentException("Range maximum must not be negative");
+    if (weight < 0) throw new IllegalArgumentException("Weight must not be negative");
+  }
+}
@@ -0,0 +1,67 @@
+package org.conradlco.learning.school.numbers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws numbers from any number of {@link WeightedRange}s: first a range in proportion to its
+ * weight, then a number uniformly from 0..max of that range.
+ *
+ * <p>The range is picked with Walker's alias method (Vose's construction), so every draw is two
+ * random numbers and a table lookup however many ranges there are. Immutable and safe to share;
+ * callers supply the random generator.
+ */
+public final class WeightedRangeDistribution {
+
+  private final List<WeightedRange> ranges;
+  private final double[] probability;
+  private final int[] alias;
+
+  public WeightedRangeDistribution(List<WeightedRange> ranges) {
+    if (ranges.isEmpty()) throw new IllegalArgumentException("At least one range is required");
+
+    this.ranges = List.copyOf(ranges);
+    int n = this.ranges.size();
+    probability = new double[n];
+    alias = new int[n];
+
+    long total = 0;
+    for (WeightedRange range : this.ranges) {
+      total += range.weight();
+    }
+    if (total <= 0) throw new IllegalArgumentException("Weights must not all be zero");
+
+    // Scale so the average weight is 1, then pair each under-full slot with an over-full one
+    double[] scaled = new double[n];
+    Deque<Integer> small = new ArrayDeque<>();
+    Deque<Integer> large = new ArrayDeque<>();
+    for (int i = 0; i < n; i++) {
+      scaled[i] = (double) this.ranges.get(i).weight() * n / total;
+      (scaled[i] < 1.0 ? small : large).push(i);
+    }
+    while (!small.isEmpty() && !large.isEmpty()) {
+      int s = small.pop();
+      int l = large.pop();
+      probability[s] = scaled[s];
+      alias[s] = l;
+      scaled[l] = scaled[l] + scaled[s] - 1.0;
+      (scaled[l] < 1.0 ? small : large).push(l);
+    }
+    // Whatever is left is full up to rounding error
+    while (!large.isEmpty()) probability[large.pop()] = 1.0;
+    while (!small.isEmpty()) probability[small.pop()] = 1.0;
+  }
+
+  public List<WeightedRange> getRanges() {
+    return ranges;
+  }
+
+  /** Returns a random number from a range chosen by weight. */
+  public int next(RandomGenerator random) {
+    int i = random.nextInt(probability.length);
+    int range = random.nextDouble() < probability[i] ? i : alias[i];
+    return random.nextInt(ranges.get(range).max() + 1);
+  }
+}
@@ -0,0 +1,335 @@
+package org.conradlco.learning.school.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.conradlco.learning.school.game.GreaterThanSession;
+import org.conradlco.learning.school.game.ReadingProgress;
+import org.conradlco.learning.school.game.WordReadingSession;
+import org.conradlco.learning.school.metrics.Metrics;
+import org.conradlco.learning.school.words.Dictionary;
+import org.conradlco.learning.school.words.PartOfSpeech;
+import org.conradlco.learning.school.words.Phoneme;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * Serves the exercises to a whole class from one machine over a small JSON API. Every request runs
+ * on its own virtual thread; each student gets a session id holding their games and progress.
+ *
+ * <pre>
+ * POST /api/sessions                                   -> {"session": id}
+ * POST /api/word-reading/start?session&amp;level&amp;questions[&amp;pos] -> word reading state
+ * POST /api/word-reading/answer?session&amp;correct         -> word reading state
+ * GET  /api/words-by-sound?level&amp;sound[&amp;match][&amp;pos]  -> per-level counts and matches
+ * POST /api/greater-than/start?session&amp;questions      -> greater than state
+ * POST /api/greater-than/answer?session&amp;answer          -> greater than state
+ * GET  /api/metrics                                    -> counters, latencies and histograms
+ * </pre>
+ *
+ * Levels are those of the dictionary's set, e.g. A1 to B2, or All; Greater Than answers are
+ * greater, equal or less. Words By Sound matches the spelling unless match=sound, which matches
+ * every spelling of the sound. The optional pos limits either to one part of speech, e.g. noun or
+ * verb.
+ */
+public class ClassroomServer {
+
+  public static final int DEFAULT_PORT = 8080;
+
+  // Enough for a worksheet, small enough that one request cannot exhaust the heap
+  private static final int MAX_GREATER_THAN_QUESTIONS = 10_000;
+
+  private static final long SESSION_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(2);
+
+  private final Dictionary dictionary;
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final ScheduledExecutorService sweeper =
+      Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().factory());
+  private final ConcurrentMap<String, StudentSession> sessions = new ConcurrentHashMap<>();
+
+  public ClassroomServer(Dictionary dictionary, int port) throws IOException {
+    this.dictionary = dictionary;
+    this.server = HttpServer.create(new InetSocketAddress(port), 0);
+    server.setExecutor(executor);
+
+    route("/api/sessions", "POST", params -> createSession());
+    route("/api/word-reading/start", "POST", this::startWordReading);
+    route("/api/word-reading/answer", "POST", this::answerWordReading);
+    route("/api/words-by-sound", "GET", this::wordsBySound);
+    route("/api/greater-than/start", "POST", this::startGreaterThan);
+    route("/api/greater-than/answer", "POST", this::answerGreaterThan);
+    route("/api/metrics", "GET", params -> Metrics.snapshot());
+  }
+
+  public void start() {
+    server.start();
+    sweeper.scheduleAtFixedRate(this::expireIdleSessions, 1, 1, TimeUnit.MINUTES);
+  }
+
+  public void stop() {
+    server.stop(1);
+    sweeper.shutdownNow();
+    executor.shutdown();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  private Map<String, Object> createSession() {
+    String id = UUID.randomUUID().toString();
+    sessions.put(id, new StudentSession());
+    return Map.of("session", id);
+  }
+
+  private Map<String, Object> startWordReading(Map<String, String> params) {
+    StudentSession student = session(params);
+    ReadingLevel level = level(params);
+    int questions = intParam(params, "questions", 10);
+    int maxQuestions = WordReadingSession.MAX_QUESTIONS;
+    if (questions < 1 || questions > maxQuestions) {
+      throw new ApiException(400, "questions must be from 1 to " + maxQuestions);
+    }
+    PartOfSpeech partOfSpeech = partOfSpeech(params);
+    synchronized (student) {
+      WordReadingSession game =
+          new WordReadingSession(dictionary, student.progress, level, questions);
+      game.setPartOfSpeech(partOfSpeech);
+      if (!game.start()) {
+        throw new ApiException(409, "No words available for selected level.");
+      }
+      student.wordReading = game;
+      return wordReadingState(game);
+    }
+  }
+
+  private Map<String, Object> answerWordReading(Map<String, String> params) {
+    StudentSession student = session(params);
+    boolean correct = Boolean.parseBoolean(required(params, "correct"));
+    synchronized (student) {
+      WordReadingSession game = student.wordReading;
+      if (game == null) throw new ApiException(409, "No word reading game in progress.");
+      game.markAnswer(correct);
+      return wordReadingState(game);
+    }
+  }
+
+  private Map<String, Object> wordsBySound(Map<String, String> params) {
+    ReadingLevel level = level(params);
+    String sound = required(params, "sound");
+    PartOfSpeech partOfSpeech = partOfSpeech(params);
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("sound", sound);
+    if ("sound".equals(params.get("match"))) {
+      Phoneme phoneme = Phoneme.fromSpelling(sound);
+      if (phoneme == null) throw new ApiException(400, "Unknown sound: " + sound);
+      result.put("counts", dictionary.countWordsWithSound(partOfSpeech, phoneme));
+      result.put("matches", dictionary.findWordsWithSound(level, partOfSpeech, phoneme));
+    } else {
+      result.put("counts", dictionary.countWordsContaining(partOfSpeech, sound));
+      result.put("matches", dictionary.findWordsContaining(level, partOfSpeech, sound));
+    }
+    return result;
+  }
+
+  private Map<String, Object> startGreaterThan(Map<String, String> params) {
+    StudentSession student = session(params);
+    int questions = intParam(params, "questions", GreaterThanSession.DEFAULT_TOTAL_QUESTIONS);
+    if (questions < 1 || questions > MAX_GREATER_THAN_QUESTIONS) {
+      throw new ApiException(400, "questions must be from 1 to " + MAX_GREATER_THAN_QUESTIONS);
+    }
+    synchronized (student) {
+      GreaterThanSession game = new GreaterThanSession();
+      game.setTotalQuestions(questions);
+      game.start();
+      student.greaterThan = game;
+      return greaterThanState(game, null);
+    }
+  }
+
+  private Map<String, Object> answerGreaterThan(Map<String, String> params) {
+    StudentSession student = session(params);
+    GreaterThanSession.Answer answer;
+    try {
+      answer =
+          GreaterThanSession.Answer.valueOf(
+              required(params, "answer").toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ApiException(400, "answer must be greater, equal or less");
+    }
+    synchronized (student) {
+      GreaterThanSession game = student.greaterThan;
+      if (game == null || game.isFinished()) {
+        throw new ApiException(409, "No greater than game in progress.");
+      }
+      return greaterThanState(game, game.answer(answer));
+    }
+  }
+
+  private static Map<String, Object> wordReadingState(WordReadingSession game) {
+    Map<String, Object> state = new LinkedHashMap<>();
+    state.put("word", game.currentWord());
+    state.put("score", game.getScore());
+    state.put("answered", game.getCurrentIndex());
+    state.put("remaining", game.getRemaining());
+    state.put("finished", game.isFinished());
+    if (game.isFinished()) {
+      state.put("wrongWords", game.getWrongWords());
+    }
+    return state;
+  }
+
+  private static Map<String, Object> greaterThanState(GreaterThanSession game, Boolean correct) {
+    Map<String, Object> state = new LinkedHashMap<>();
+    if (correct != null) {
+      state.put("correct", correct);
+    }
+    if (!game.isFinished()) {
+      state.put("left", game.getLeft());
+      state.put("right", game.getRight());
+    }
+    state.put("score", game.getScore());
+    state.put("answered", game.getCurrentQuestionIndex());
+    state.put("total", game.getTotalQuestions());
+    state.put("finished", game.isFinished());
+    return state;
+  }
+
+  private StudentSession session(Map<String, String> params) {
+    StudentSession student = sessions.get(required(params, "session"));
+    if (student == null) throw new ApiException(404, "Unknown session.");
+    student.lastUsed = System.currentTimeMillis();
+    return student;
+  }
+
+  private void expireIdleSessions() {
+    long cutoff = System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS;
+    sessions.values().removeIf(student -> student.lastUsed < cutoff);
+  }
+
+  private ReadingLevel level(Map<String, String> params) {
+    String name = params.getOrDefault("level", "All");
+    if ("All".equalsIgnoreCase(name)) return null;
+    ReadingLevel level = dictionary.getSet().level(name);
+    if (level == null) throw new ApiException(400, "Unknown level: " + name);
+    return level;
+  }
+
+  /** The part of speech named by pos, e.g. noun or modal_verb; null when absent. */
+  private static PartOfSpeech partOfSpeech(Map<String, String> params) {
+    String pos = params.get("pos");
+    if (pos == null || pos.isEmpty()) return null;
+    try {
+      return PartOfSpeech.valueOf(pos.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ApiException(400, "Unknown part of speech: " + pos);
+    }
+  }
+
+  private static String required(Map<String, String> params, String name) {
+    String value = params.get(name);
+    if (value == null || value.isEmpty()) {
+      throw new ApiException(400, "Missing parameter: " + name);
+    }
+    return value;
+  }
+
+  private static int intParam(Map<String, String> params, String name, int defaultValue) {
+    String value = params.get(name);
+    if (value == null) return defaultValue;
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new ApiException(400, name + " must be a number");
+    }
+  }
+
+  private void route(String path, String method, Handler handler) {
+    server.createContext(
+        path,
+        exchange -> {
+          int status = 200;
+          Object body;
+          try {
+            if (!path.equals(exchange.getRequestURI().getPath())) {
+              throw new ApiException(404, "Not found.");
+            }
+            if (!method.equals(exchange.getRequestMethod())) {
+              exchange.getResponseHeaders().set("Allow", method);
+              throw new ApiException(405, "Use " + method + ".");
+            }
+            body = handler.handle(parseQuery(exchange.getRequestURI().getRawQuery()));
+          } catch (ApiException e) {
+            status = e.status;
+            body = Map.of("error", e.getMessage());
+          } catch (RuntimeException e) {
+            status = 500;
+            body = Map.of("error", String.valueOf(e.getMessage()));
+          }
+          try (exchange) {
+            send(exchange, status, body);
+          }
+        });
+  }
+
+  private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+    byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> params = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) return params;
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      String name = eq < 0 ? pair : pair.substring(0, eq);
+      String value = eq < 0 ? "" : pair.substring(eq + 1);
+      params.put(
+          URLDecoder.decode(name, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return params;
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+    Map<String, Object> handle(Map<String, String> params);
+  }
+
+  /** Turned into a JSON error response with the given HTTP status. */
+  private static final class ApiException extends RuntimeException {
+    final int status;
+
+    ApiException(int status, String message) {
+      super(message);
+      this.status = status;
+    }
+  }
+
+  /** One student's games and progress. Guarded by its own monitor. */
+  private static final class StudentSession {
+    final ReadingProgress progress = new ReadingProgress();
+    WordReadingSession wordReading;
+    GreaterThanSession greaterThan;
+    volatile long lastUsed = System.currentTimeMillis();
+  }
+}
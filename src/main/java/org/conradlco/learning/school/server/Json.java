@@ -0,0 +1,66 @@
+package org.conradlco.learning.school.server;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/** Minimal JSON writer for the classroom API: maps, iterables, strings, numbers and booleans. */
+final class Json {
+
+  private Json() {}
+
+  static String write(Object value) {
+    StringBuilder out = new StringBuilder();
+    write(value, out);
+    return out.toString();
+  }
+
+  private static void write(Object value, StringBuilder out) {
+    if (value == null) {
+      out.append("null");
+    } else if (value instanceof String s) {
+      writeString(s, out);
+    } else if (value instanceof Number || value instanceof Boolean) {
+      out.append(value);
+    } else if (value instanceof Map<?, ?> map) {
+      out.append('{');
+      Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<?, ?> e = it.next();
+        writeString(String.valueOf(e.getKey()), out);
+        out.append(':');
+        write(e.getValue(), out);
+        if (it.hasNext()) out.append(',');
+      }
+      out.append('}');
+    } else if (value instanceof Iterable<?> items) {
+      out.append('[');
+      Iterator<?> it = items.iterator();
+      while (it.hasNext()) {
+        write(it.next(), out);
+        if (it.hasNext()) out.append(',');
+      }
+      out.append(']');
+    } else {
+      writeString(value.toString(), out);
+    }
+  }
+
+  private static void writeString(String s, StringBuilder out) {
+    out.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"' -> out.append("\\\"");
+        case '\\' -> out.append("\\\\");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        case '\t' -> out.append("\\t");
+        default -> {
+          if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+          else out.append(c);
+        }
+      }
+    }
+    out.append('"');
+  }
+}
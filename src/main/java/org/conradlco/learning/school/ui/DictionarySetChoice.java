@@ -0,0 +1,34 @@
+package org.conradlco.learning.school.ui;
+
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+import org.conradlco.learning.school.words.DictionarySet;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/** The "Words from:" drop-down of the dictionary sets in the manifest, and their level choices. */
+final class DictionarySetChoice {
+
+  private DictionarySetChoice() {}
+
+  /** Every set, the default selected; hidden when the manifest only has the one. */
+  static JComboBox<DictionarySet> comboBox() {
+    JComboBox<DictionarySet> combo = new JComboBox<>();
+    for (DictionarySet set : DictionarySet.all()) {
+      combo.addItem(set);
+    }
+    combo.setSelectedItem(DictionarySet.getDefault());
+    combo.setVisible(combo.getItemCount() > 1);
+    combo.setToolTipText("The word lists to play with");
+    return combo;
+  }
+
+  /** The set's levels, easiest first, then "All". */
+  static DefaultComboBoxModel<Object> levelModel(DictionarySet set) {
+    DefaultComboBoxModel<Object> model = new DefaultComboBoxModel<>();
+    for (ReadingLevel level : set.getLevels()) {
+      model.addElement(level);
+    }
+    model.addElement("All");
+    return model;
+  }
+}
@@ -1,10 +1,15 @@
 package org.conradlco.learning.school.ui;
 
+import org.conradlco.learning.school.metrics.Metrics;
+import org.conradlco.learning.school.metrics.WindowOpenEvent;
+import org.conradlco.learning.school.words.Dictionary;
+
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JList;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.ListSelectionModel;
@@ -14,6 +19,8 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.nio.file.Path;
+import java.util.function.Supplier;
 
 public class ExerciseSelectorWindow extends JFrame implements ActionListener {
 
@@ -32,6 +39,19 @@ public class ExerciseSelectorWindow extends JFrame implements ActionListener {
     setDefaultCloseOperation(EXIT_ON_CLOSE);
 
     buildLayout(this.getContentPane());
+
+    // A teacher's edit to a word list that cannot be read would otherwise go unnoticed
+    Dictionary.onReloadFailure(
+        (file, error) -> SwingUtilities.invokeLater(() -> showReloadFailure(file, error)));
+  }
+
+  private void showReloadFailure(Path file, Exception error) {
+    JOptionPane.showMessageDialog(
+        isVisible() ? this : null,
+        "The edited word list " + file + " could not be read, so the words already loaded are"
+            + " still in use: " + error.getMessage(),
+        "Word List Not Reloaded",
+        JOptionPane.WARNING_MESSAGE);
   }
 
   private void buildLayout(final Container mainContainer) {
@@ -69,12 +89,26 @@ public class ExerciseSelectorWindow extends JFrame implements ActionListener {
     if (e.getSource() == playButton && selectionList.getSelectedIndex() != -1) {
       this.setVisible(false);
       if (GREATER_THAN_GAME.equals(selectionList.getSelectedValue())) {
-        SwingUtilities.invokeLater(() -> new WhichIsGreaterWindow(this).setVisible(true));
+        open("greater-than", () -> new WhichIsGreaterWindow(this));
       } else if (WORD_READING_GAME.equals(selectionList.getSelectedValue())) {
-        SwingUtilities.invokeLater(() -> new WordReading(this).setVisible(true));
+        open("word-reading", () -> new WordReading(this));
       } else if (WORDS_BY_SOUND.equals(selectionList.getSelectedValue())) {
-        SwingUtilities.invokeLater(() -> new WordsBySound(this).setVisible(true));
+        open("words-by-sound", () -> new WordsBySound(this));
       }
     }
   }
+
+  /** Builds and shows the window later on the EDT, timed as the "window.{name}" latency. */
+  private static void open(String name, Supplier<JFrame> window) {
+    SwingUtilities.invokeLater(
+        () -> {
+          WindowOpenEvent event = new WindowOpenEvent();
+          event.begin();
+          long start = System.nanoTime();
+          window.get().setVisible(true);
+          Metrics.latency("window." + name).recordSince(start);
+          event.window = name;
+          event.commit();
+        });
+  }
 }
@@ -0,0 +1,44 @@
+package org.conradlco.learning.school.ui;
+
+import java.awt.Component;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JComboBox;
+import javax.swing.JList;
+import org.conradlco.learning.school.words.PartOfSpeech;
+
+/** The "Words:" drop-down shared by the word windows: every word, or one part of speech. */
+final class PartOfSpeechChoice {
+
+  private static final String ALL_WORDS = "All words";
+
+  // The parts of speech worth practising on their own; the rest are short closed lists
+  private static final PartOfSpeech[] CHOICES = {
+    PartOfSpeech.NOUN, PartOfSpeech.VERB, PartOfSpeech.ADJECTIVE, PartOfSpeech.ADVERB
+  };
+
+  private PartOfSpeechChoice() {}
+
+  static JComboBox<Object> comboBox() {
+    JComboBox<Object> combo = new JComboBox<>();
+    combo.addItem(ALL_WORDS);
+    for (PartOfSpeech part : CHOICES) {
+      combo.addItem(part);
+    }
+    combo.setRenderer(
+        new DefaultListCellRenderer() {
+          @Override
+          public Component getListCellRendererComponent(
+              JList<?> list, Object value, int index, boolean selected, boolean focused) {
+            Object shown = value instanceof PartOfSpeech part ? part.getLabel() : value;
+            return super.getListCellRendererComponent(list, shown, index, selected, focused);
+          }
+        });
+    combo.setToolTipText("Play with every word, or only nouns, verbs, adjectives or adverbs");
+    return combo;
+  }
+
+  /** The part of speech chosen in the combo box, or null for every word. */
+  static PartOfSpeech selected(JComboBox<?> combo) {
+    return combo.getSelectedItem() instanceof PartOfSpeech part ? part : null;
+  }
+}
@@ -0,0 +1,111 @@
+package org.conradlco.learning.school.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import org.conradlco.learning.school.words.Dictionary;
+import org.conradlco.learning.school.words.PartOfSpeech;
+import org.conradlco.learning.school.words.ReadingLevel;
+
+/**
+ * Recent Words By Sound searches, keyed by level, part of speech and normalised sound, least
+ * recently used first out. A sound not searched yet is narrowed from a cached search for part of
+ * it, since every word containing "ooh" also contains "oo" and "oh". Emptied when the dictionary
+ * reloads a word list. Safe to use from any thread.
+ */
+final class SoundSearchCache {
+
+  private static final int MAX_ENTRIES = 64;
+  // Searching one letter at a time across a very large dictionary can match most of it
+  private static final int MAX_CACHED_WORDS = 200_000;
+
+  private record Key(ReadingLevel level, PartOfSpeech partOfSpeech, String sound) {}
+
+  private final Dictionary dictionary;
+  private final LinkedHashMap<Key, List<String>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private int cachedWords;
+  private long version; // of the dictionary the entries were found in
+
+  SoundSearchCache(Dictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * Same results as {@link Dictionary#findWordsContaining}; a null level searches every level and
+   * a null part of speech every word.
+   */
+  List<String> find(ReadingLevel level, PartOfSpeech partOfSpeech, String sound) {
+    String s = sound == null ? "" : sound.trim().toLowerCase(Locale.ROOT);
+    if (s.isEmpty()) return List.of();
+
+    Key key = new Key(level, partOfSpeech, s);
+    long searched = dictionary.getVersion();
+    List<String> parent;
+    synchronized (this) {
+      if (searched != version) {
+        entries.clear();
+        cachedWords = 0;
+        version = searched;
+      }
+      List<String> cached = entries.get(key);
+      if (cached != null) return cached;
+      parent = parentOf(key);
+    }
+
+    List<String> matches =
+        parent != null
+            ? narrow(parent, s)
+            : dictionary.findWordsContaining(level, partOfSpeech, s);
+    synchronized (this) {
+      // A search that straddled a reload may hold either version's words, so is not kept
+      boolean current = searched == version && searched == dictionary.getVersion();
+      if (current && entries.putIfAbsent(key, matches) == null) {
+        cachedWords += matches.size();
+        evict();
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * The smallest cached result for a part of the sound, trying the longest parts first, or null
+   * if nothing containing it has been searched.
+   */
+  private List<String> parentOf(Key key) {
+    String sound = key.sound();
+    for (int length = sound.length() - 1; length > 0; length--) {
+      List<String> smallest = null;
+      for (int start = 0; start + length <= sound.length(); start++) {
+        String part = sound.substring(start, start + length);
+        List<String> cached = entries.get(new Key(key.level(), key.partOfSpeech(), part));
+        if (cached != null && (smallest == null || cached.size() < smallest.size())) {
+          smallest = cached;
+        }
+      }
+      if (smallest != null) return smallest;
+    }
+    return null;
+  }
+
+  /** Keeps the parent's words that contain the sound, in the parent's (sorted) order. */
+  private static List<String> narrow(List<String> parent, String sound) {
+    List<String> matches = new ArrayList<>();
+    for (String word : parent) {
+      if (word.toLowerCase(Locale.ROOT).contains(sound)) {
+        matches.add(word);
+      }
+    }
+    return Collections.unmodifiableList(matches);
+  }
+
+  private void evict() {
+    Iterator<List<String>> oldest = entries.values().iterator();
+    while (oldest.hasNext() && (entries.size() > MAX_ENTRIES || cachedWords > MAX_CACHED_WORDS)) {
+      cachedWords -= oldest.next().size();
+      oldest.remove();
+    }
+  }
+}
@@ -3,22 +3,29 @@ package org.conradlco.learning.school.ui;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
 import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import org.conradlco.learning.school.game.GreaterThanDeck;
+import org.conradlco.learning.school.game.GreaterThanSession;
+import org.conradlco.learning.school.game.GreaterThanSession.Answer;
+import org.conradlco.learning.school.numbers.WeightedRange;
 
 public class WhichIsGreaterWindow extends JFrame implements ActionListener {
 
   private final ExerciseSelectorWindow parentSelector;
 
-  private static final int TOTAL_QUESTIONS = 20;
+  private static final int MAX_QUESTIONS = 1000;
 
-  private int currentQuestionIndex = 0;
-  private int score = 0;
+  // Game state: the rules live in the session, this window only displays it
+  private final GreaterThanSession session = new GreaterThanSession();
 
   private final JLabel leftNumberLabel = new JLabel("", SwingConstants.CENTER);
   private final JLabel rightNumberLabel = new JLabel("", SwingConstants.CENTER);
   private final JLabel scoreLabel = new JLabel("Score: 0");
-  private final JLabel counterLabel = new JLabel("0 / " + TOTAL_QUESTIONS, SwingConstants.CENTER);
+  private final JLabel counterLabel =
+      new JLabel("0 / " + session.getTotalQuestions(), SwingConstants.CENTER);
 
   private final JButton greaterButton = new JButton("Left > Right");
   private final JButton equalButton = new JButton("Equal");
@@ -26,19 +33,6 @@ public class WhichIsGreaterWindow extends JFrame implements ActionListener {
   private final JButton quitButton = new JButton("Quit");
   private final JButton settingsButton = new JButton("Settings");
 
-  private final Random rnd = new Random();
-
-  private int currentLeft;
-  private int currentRight;
-
-  // Configurable weighted ranges and weights (percent)
-  private int rangeA = 20;
-  private int rangeB = 50;
-  private int rangeC = 200;
-  private int weightA = 60; // percent for rangeA
-  private int weightB = 30; // percent for rangeB
-  private int weightC = 10; // percent for rangeC
-
   public WhichIsGreaterWindow(ExerciseSelectorWindow parentSelector) {
     super("Greater Than Game");
     this.parentSelector = parentSelector;
@@ -108,164 +102,202 @@ public class WhichIsGreaterWindow extends JFrame implements ActionListener {
   }
 
   private void startGame() {
-    currentQuestionIndex = 0;
-    score = 0;
-    updateScoreCounter();
-    nextQuestion();
+    setAnswerButtonsEnabled(false);
+    settingsButton.setEnabled(false);
+    leftNumberLabel.setText("...");
+    rightNumberLabel.setText("...");
+
+    // Deal the whole game off the EDT, then play it
+    session
+        .newDeckAsync()
+        .whenComplete(
+            (deck, error) ->
+                SwingUtilities.invokeLater(
+                    () -> {
+                      settingsButton.setEnabled(true);
+                      if (error != null) {
+                        JOptionPane.showMessageDialog(
+                            this,
+                            "Could not deal the questions: " + error.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                        return;
+                      }
+                      session.start(deck);
+                      updateScoreCounter();
+                      nextQuestion();
+                    }));
   }
 
   private void updateScoreCounter() {
-    scoreLabel.setText("Score: " + score);
-    counterLabel.setText((currentQuestionIndex + 1) + " / " + TOTAL_QUESTIONS);
+    scoreLabel.setText("Score: " + session.getScore());
+    counterLabel.setText(
+        (session.getCurrentQuestionIndex() + 1) + " / " + session.getTotalQuestions());
+  }
+
+  private void setAnswerButtonsEnabled(boolean enabled) {
+    greaterButton.setEnabled(enabled);
+    equalButton.setEnabled(enabled);
+    lessButton.setEnabled(enabled);
   }
 
   private void nextQuestion() {
-    if (currentQuestionIndex >= TOTAL_QUESTIONS) {
+    if (session.isFinished()) {
       showEndOfGameDialog();
       return;
     }
 
-    // Generate two random numbers using configured weighted ranges
-    currentLeft = randomNumberWithWeightedRange();
-    currentRight = randomNumberWithWeightedRange();
-
-    leftNumberLabel.setText(String.valueOf(currentLeft));
-    rightNumberLabel.setText(String.valueOf(currentRight));
+    leftNumberLabel.setText(String.valueOf(session.getLeft()));
+    rightNumberLabel.setText(String.valueOf(session.getRight()));
 
     updateScoreCounter();
 
     // Ensure buttons enabled
-    greaterButton.setEnabled(true);
-    equalButton.setEnabled(true);
-    lessButton.setEnabled(true);
-  }
-
-  /** Return a random integer according to the configured weighted distribution. */
-  private int randomNumberWithWeightedRange() {
-    int p = rnd.nextInt(100); // 0..99
-    int cumulative = 0;
-    cumulative += weightA;
-    if (p < cumulative) {
-      return rnd.nextInt(rangeA + 1);
-    }
-    cumulative += weightB;
-    if (p < cumulative) {
-      return rnd.nextInt(rangeB + 1);
-    }
-    // fallback to C
-    return rnd.nextInt(rangeC + 1);
+    setAnswerButtonsEnabled(true);
   }
 
   private void openSettingsDialog() {
-    // Create spinners for ranges and weights
-    JSpinner rangeASpinner = new JSpinner(new SpinnerNumberModel(rangeA, 1, Integer.MAX_VALUE, 1));
-    JSpinner rangeBSpinner = new JSpinner(new SpinnerNumberModel(rangeB, 1, Integer.MAX_VALUE, 1));
-    JSpinner rangeCSpinner = new JSpinner(new SpinnerNumberModel(rangeC, 1, Integer.MAX_VALUE, 1));
+    openSettingsDialog(
+        session.getWeightedRanges(),
+        session.getConfiguredQuestions(),
+        session.getAnswerMix().equal() * 100 / totalShares(session.getAnswerMix()));
+  }
 
-    JSpinner weightASpinner = new JSpinner(new SpinnerNumberModel(weightA, 0, 100, 1));
-    JSpinner weightBSpinner = new JSpinner(new SpinnerNumberModel(weightB, 0, 100, 1));
-    JSpinner weightCSpinner = new JSpinner(new SpinnerNumberModel(weightC, 0, 100, 1));
+  private static int totalShares(GreaterThanDeck.Mix mix) {
+    return mix.greater() + mix.equal() + mix.less();
+  }
 
-    JPanel panel = new JPanel(new GridLayout(4, 3, 8, 8));
-    panel.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+  private void openSettingsDialog(List<WeightedRange> ranges, int questions, int equalPercent) {
+    // Game length and how often the pair is equal; greater and less share the rest evenly
+    JSpinner questionsSpinner =
+        new JSpinner(new SpinnerNumberModel(questions, 1, MAX_QUESTIONS, 1));
+    JSpinner equalSpinner = new JSpinner(new SpinnerNumberModel(equalPercent, 0, 100, 5));
+    JPanel gamePanel = new JPanel(new GridLayout(2, 2, 8, 4));
+    gamePanel.add(new JLabel("Questions per game:"));
+    gamePanel.add(questionsSpinner);
+    gamePanel.add(new JLabel("Equal pairs (%):"));
+    gamePanel.add(equalSpinner);
+
+    // One editable row per range; rows can be added and removed
+    DefaultTableModel model =
+        new DefaultTableModel(new Object[] {"Range (0..N)", "Weight (%)"}, 0) {
+          @Override
+          public Class<?> getColumnClass(int columnIndex) {
+            return Integer.class;
+          }
+        };
+    for (WeightedRange range : ranges) {
+      model.addRow(new Object[] {range.max(), range.weight()});
+    }
 
-    panel.add(new JLabel("Range A (0..N):"));
-    panel.add(rangeASpinner);
-    panel.add(new JLabel("Weight A (%):"));
+    JTable table = new JTable(model);
+    table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    table.setPreferredScrollableViewportSize(new Dimension(260, 120));
 
-    panel.add(new JLabel("Range B (0..N):"));
-    panel.add(rangeBSpinner);
-    panel.add(new JLabel("Weight B (%):"));
+    JButton addButton = new JButton("Add Range");
+    JButton removeButton = new JButton("Remove Range");
+    addButton.addActionListener(e -> model.addRow(new Object[] {10, 0}));
+    removeButton.addActionListener(
+        e -> {
+          int row = table.getSelectedRow();
+          if (row >= 0) {
+            if (table.isEditing()) table.getCellEditor().cancelCellEditing();
+            model.removeRow(row);
+          }
+        });
 
-    panel.add(new JLabel("Range C (0..N):"));
-    panel.add(rangeCSpinner);
-    panel.add(new JLabel("Weight C (%):"));
+    JPanel rowButtons = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+    rowButtons.add(addButton);
+    rowButtons.add(removeButton);
 
-    // show current weight spinners in the last row for clarity
-    panel.add(new JLabel(" "));
-    JPanel weightsRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
-    weightsRow.add(weightASpinner);
-    weightsRow.add(weightBSpinner);
-    weightsRow.add(weightCSpinner);
-    panel.add(weightsRow);
-    panel.add(new JLabel(" "));
+    JPanel panel = new JPanel(new BorderLayout(8, 8));
+    panel.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+    panel.add(gamePanel, BorderLayout.NORTH);
+    panel.add(new JScrollPane(table), BorderLayout.CENTER);
+    panel.add(rowButtons, BorderLayout.SOUTH);
 
     int result =
         JOptionPane.showConfirmDialog(
             this,
             panel,
-            "Configure Weighted Ranges",
+            "Game Settings",
             JOptionPane.OK_CANCEL_OPTION,
             JOptionPane.PLAIN_MESSAGE);
 
     if (result == JOptionPane.OK_OPTION) {
-      int newRangeA = (Integer) rangeASpinner.getValue();
-      int newRangeB = (Integer) rangeBSpinner.getValue();
-      int newRangeC = (Integer) rangeCSpinner.getValue();
-      int newWeightA = (Integer) weightASpinner.getValue();
-      int newWeightB = (Integer) weightBSpinner.getValue();
-      int newWeightC = (Integer) weightCSpinner.getValue();
-
-      int sum = newWeightA + newWeightB + newWeightC;
-      if (sum != 100) {
-        JOptionPane.showMessageDialog(
-            this,
-            "Weights must sum to 100%. Current sum: " + sum,
-            "Invalid weights",
-            JOptionPane.ERROR_MESSAGE);
+      if (table.isEditing()) table.getCellEditor().stopCellEditing();
+
+      List<WeightedRange> newRanges = new ArrayList<>();
+      String error = null;
+      int sum = 0;
+      for (int row = 0; row < model.getRowCount() && error == null; row++) {
+        Object max = model.getValueAt(row, 0);
+        Object weight = model.getValueAt(row, 1);
+        if (!(max instanceof Integer m) || m < 1) {
+          error = "Each range must be a whole number of at least 1.";
+        } else if (!(weight instanceof Integer w) || w < 0 || w > 100) {
+          error = "Each weight must be a whole number from 0 to 100.";
+        } else {
+          newRanges.add(new WeightedRange(m, w));
+          sum += w;
+        }
+      }
+      if (error == null && newRanges.isEmpty()) {
+        error = "Add at least one range.";
+      } else if (error == null && sum != 100) {
+        error = "Weights must sum to 100%. Current sum: " + sum;
+      }
+
+      if (error != null) {
+        JOptionPane.showMessageDialog(this, error, "Invalid weights", JOptionPane.ERROR_MESSAGE);
         // Re-open settings so user can correct mistakes
-        SwingUtilities.invokeLater(this::openSettingsDialog);
+        SwingUtilities.invokeLater(() -> openSettingsDialog(ranges, questions, equalPercent));
         return;
       }
 
-      // Apply new configuration
-      this.rangeA = newRangeA;
-      this.rangeB = newRangeB;
-      this.rangeC = newRangeC;
-      this.weightA = newWeightA;
-      this.weightB = newWeightB;
-      this.weightC = newWeightC;
+      // Apply new configuration; it takes effect from the next game
+      int equal = (Integer) equalSpinner.getValue();
+      session.setWeightedRanges(newRanges);
+      session.setTotalQuestions((Integer) questionsSpinner.getValue());
+      session.setAnswerMix(new GreaterThanDeck.Mix((100 - equal) / 2, equal, (101 - equal) / 2));
 
       // Inform the user of successful update
       JOptionPane.showMessageDialog(
-          this, "Weighted ranges updated.", "Settings Saved", JOptionPane.INFORMATION_MESSAGE);
+          this,
+          "Settings updated. They apply from the next game.",
+          "Settings Saved",
+          JOptionPane.INFORMATION_MESSAGE);
     }
   }
 
   @Override
   public void actionPerformed(ActionEvent e) {
     Object src = e.getSource();
-    int chosen = -1; // 0: greater, 1: equal, 2: less
-    if (src == greaterButton) chosen = 0;
-    else if (src == equalButton) chosen = 1;
-    else if (src == lessButton) chosen = 2;
+    Answer chosen;
+    if (src == greaterButton) chosen = Answer.GREATER;
+    else if (src == equalButton) chosen = Answer.EQUAL;
+    else if (src == lessButton) chosen = Answer.LESS;
     else return;
 
     // Disable to prevent double clicks
-    greaterButton.setEnabled(false);
-    equalButton.setEnabled(false);
-    lessButton.setEnabled(false);
-
-    int correct;
-    if (currentLeft > currentRight) correct = 0;
-    else if (currentLeft == currentRight) correct = 1;
-    else correct = 2;
+    setAnswerButtonsEnabled(false);
 
-    boolean isCorrect = (chosen == correct);
-    if (isCorrect) score++;
+    boolean isCorrect = session.answer(chosen);
 
     // Show a simple dialog with result and current score
     String resultMessage =
-        (isCorrect ? "Correct!" : "Wrong.") + "\nCurrent score: " + score + " / " + TOTAL_QUESTIONS;
+        (isCorrect ? "Correct!" : "Wrong.")
+            + "\nCurrent score: "
+            + session.getScore()
+            + " / "
+            + session.getTotalQuestions();
     JOptionPane.showMessageDialog(
         this,
         resultMessage,
         "Answer Result",
         isCorrect ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE);
 
-    currentQuestionIndex++;
-
-    if (currentQuestionIndex >= TOTAL_QUESTIONS) {
+    if (session.isFinished()) {
       showEndOfGameDialog();
     } else {
       // Move to next question
@@ -275,7 +307,11 @@ public class WhichIsGreaterWindow extends JFrame implements ActionListener {
 
   private void showEndOfGameDialog() {
     String summary =
-        "You scored " + score + " out of " + TOTAL_QUESTIONS + ".\nWhat would you like to do?";
+        "You scored "
+            + session.getScore()
+            + " out of "
+            + session.getTotalQuestions()
+            + ".\nWhat would you like to do?";
     String[] options = {"Play Again", "Return to Exercises"};
     int choice =
         JOptionPane.showOptionDialog(
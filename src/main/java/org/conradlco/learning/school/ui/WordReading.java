@@ -1,13 +1,16 @@
 package org.conradlco.learning.school.ui;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import org.conradlco.learning.school.game.ProgressJournal;
+import org.conradlco.learning.school.game.ReadingProgress;
+import org.conradlco.learning.school.game.WordReadingSession;
 import org.conradlco.learning.school.words.Dictionary;
+import org.conradlco.learning.school.words.DictionarySet;
 import org.conradlco.learning.school.words.ReadingLevel;
 
 public class WordReading extends JFrame {
@@ -17,6 +20,7 @@ public class WordReading extends JFrame {
   private Dictionary dictionary;
 
   // UI components
+  private JComboBox<DictionarySet> setCombo; // only shown when the manifest has several sets
   private JComboBox<Object> levelCombo; // changed to Object to allow an "All" entry
   private JButton playButton;
   private JButton stopButton; // new stop button
@@ -25,51 +29,106 @@ public class WordReading extends JFrame {
   private JButton correctButton;
   private JButton wrongButton;
   private JLabel scoreLabel;
+  private JComboBox<Object> partOfSpeechCombo; // every word, or only nouns, verbs, ...
   private JSpinner questionsSpinner; // new spinner to select number of questions
   private JLabel remainingLabel; // shows questions remaining during the game
   private JLabel progressLabel; // shows per-level progress percentage
 
-  // Game state
-  private List<String> gameWords = new ArrayList<>();
-  private List<String> wrongWords = new ArrayList<>(); // track words answered incorrectly
-  private final java.util.Map<ReadingLevel, java.util.Set<String>> correctWordsPerLevel =
-      new java.util.EnumMap<>(ReadingLevel.class);
-  private ReadingLevel activeLevel = null; // current game's level, null for "All"
+  // Game state: the rules live in the session, this window only displays it
+  private ReadingProgress progress; // restored from the progress journal alongside the words
+  private WordReadingSession session; // null when no game is in progress
   private int totalQuestions = 10;
-  private int currentIndex = 0;
-  private int score = 0;
-  private final Random random = new Random();
 
   public WordReading(ExerciseSelectorWindow parentSelector) {
     super("Word Reading Game");
     this.parentSelector = parentSelector;
 
-    this.dictionary = Dictionary.getInstance();
-    // initialize per-level tracking sets
-    for (ReadingLevel rl : ReadingLevel.values()) {
-      correctWordsPerLevel.put(rl, new java.util.HashSet<>());
-    }
-
     setBounds(400, 200, 600, 400);
     setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 
     buildLayout(this.getContentPane());
 
+    // Words load in the background; Play stays disabled until they are ready
+    showLoading();
+    CompletableFuture<ReadingProgress> restored =
+        CompletableFuture.supplyAsync(() -> ProgressJournal.getDefault().getProgress());
+    Dictionary.warmUp()
+        .whenComplete(
+            (loaded, error) ->
+                restored.whenComplete(
+                    (saved, journalError) ->
+                        SwingUtilities.invokeLater(
+                            () -> {
+                              onProgressRestored(saved, journalError);
+                              onDictionaryLoaded(loaded, error);
+                            })));
+
     // Do not start a game automatically; wait for user to press Play
   }
 
+  private void showLoading() {
+    // No switching sets until these words are in
+    setCombo.setEnabled(false);
+    playButton.setEnabled(false);
+    stopButton.setEnabled(false);
+    wordLabel.setText("Loading words...");
+  }
+
+  /** Switches to the set's words, loading them unless an earlier switch already did. */
+  private void switchSet(DictionarySet set) {
+    if (dictionary != null && dictionary.getSet() == set) return;
+    dictionary = null;
+    levelCombo.setModel(DictionarySetChoice.levelModel(set));
+    showLoading();
+    Dictionary.warmUp(set)
+        .whenComplete(
+            (loaded, error) ->
+                SwingUtilities.invokeLater(() -> onDictionaryLoaded(loaded, error)));
+  }
+
+  private void onProgressRestored(ReadingProgress saved, Throwable error) {
+    if (error == null) {
+      progress = saved;
+      return;
+    }
+    // Keep playing with in-memory progress if the journal cannot be opened
+    progress = new ReadingProgress();
+    Throwable cause =
+        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    JOptionPane.showMessageDialog(
+        this,
+        "Reading progress could not be restored, and this session's progress will not be saved: "
+            + cause.getMessage(),
+        "Progress Not Saved",
+        JOptionPane.WARNING_MESSAGE);
+  }
+
+  private void onDictionaryLoaded(Dictionary loaded, Throwable error) {
+    setCombo.setEnabled(true);
+    if (error != null) {
+      wordLabel.setText("");
+      JOptionPane.showMessageDialog(
+          this,
+          "The word lists could not be loaded: " + error.getMessage(),
+          "No Words",
+          JOptionPane.ERROR_MESSAGE);
+      return;
+    }
+    dictionary = loaded;
+    wordLabel.setText("");
+    playButton.setEnabled(true);
+    updateProgressLabel();
+  }
+
   private void buildLayout(Container container) {
     container.setLayout(new BorderLayout(10, 10));
 
     // Top controls: level selection and play/quit
     JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
-    // Create combo model with enum values in order, and an "All" option at the end
-    DefaultComboBoxModel<Object> model = new DefaultComboBoxModel<>();
-    for (ReadingLevel rl : ReadingLevel.values()) {
-      model.addElement(rl);
-    }
-    model.addElement("All");
-    levelCombo = new JComboBox<>(model);
+    // The default set's levels in order, and an "All" option at the end
+    setCombo = DictionarySetChoice.comboBox();
+    levelCombo = new JComboBox<>(DictionarySetChoice.levelModel(DictionarySet.getDefault()));
+    partOfSpeechCombo = PartOfSpeechChoice.comboBox();
 
     // Questions spinner (configurable totalQuestions)
     questionsSpinner = new JSpinner(new SpinnerNumberModel(totalQuestions, 1, 1000, 1));
@@ -79,8 +138,11 @@ public class WordReading extends JFrame {
     stopButton = new JButton("Stop Game");
     quitButton = new JButton("Quit to Menu");
 
+    topPanel.add(setCombo);
     topPanel.add(new JLabel("Level:"));
     topPanel.add(levelCombo);
+    topPanel.add(new JLabel("Words:"));
+    topPanel.add(partOfSpeechCombo);
     topPanel.add(new JLabel("Questions:"));
     topPanel.add(questionsSpinner);
     topPanel.add(playButton);
@@ -145,17 +207,14 @@ public class WordReading extends JFrame {
 
     // Update progress label whenever the level selection changes
     levelCombo.addActionListener(e -> updateProgressLabel());
+    setCombo.addActionListener(e -> switchSet((DictionarySet) setCombo.getSelectedItem()));
   }
 
   private void initializeGame() {
     Object selected = levelCombo.getSelectedItem();
 
-    // set activeLevel for this game (null when "All")
-    if (selected instanceof ReadingLevel) {
-      activeLevel = (ReadingLevel) selected;
-    } else {
-      activeLevel = null;
-    }
+    // null level plays "All" (or unknown selection): random words across all levels
+    ReadingLevel level = selected instanceof ReadingLevel ? (ReadingLevel) selected : null;
 
     // Read totalQuestions from spinner in case user changed it
     try {
@@ -165,47 +224,18 @@ public class WordReading extends JFrame {
       totalQuestions = 20;
     }
 
-    gameWords.clear();
-    wrongWords.clear();
-
-    if (selected instanceof ReadingLevel) {
-      ReadingLevel level = (ReadingLevel) selected;
-
-      List<String> words = new ArrayList<>(dictionary.getWordsForLevel(level));
-      Collections.shuffle(words, random);
-
-      if (words.size() >= totalQuestions) {
-        gameWords.addAll(words.subList(0, totalQuestions));
-      } else if (!words.isEmpty()) {
-        // If there are fewer words than needed, pick randomly until we have enough (allow repeats)
-        gameWords.addAll(words);
-        while (gameWords.size() < totalQuestions) {
-          gameWords.add(words.get(random.nextInt(words.size())));
-        }
-      } else {
-        // No words available for that level
-        JOptionPane.showMessageDialog(
-            this,
-            "No words available for selected level.",
-            "No Words",
-            JOptionPane.WARNING_MESSAGE);
-        return;
-      }
-    } else {
-      // "All" selected (or unknown selection): pick random words across all levels
-      try {
-        for (int i = 0; i < totalQuestions; i++) {
-          gameWords.add(dictionary.getRandomWord());
-        }
-      } catch (Exception ex) {
-        JOptionPane.showMessageDialog(
-            this, "No words available to play.", "No Words", JOptionPane.WARNING_MESSAGE);
-        return;
-      }
+    session = new WordReadingSession(dictionary, progress, level, totalQuestions);
+    session.setPartOfSpeech(PartOfSpeechChoice.selected(partOfSpeechCombo));
+    if (!session.start()) {
+      session = null;
+      JOptionPane.showMessageDialog(
+          this,
+          level != null ? "No words available for selected level." : "No words available to play.",
+          "No Words",
+          JOptionPane.WARNING_MESSAGE);
+      return;
     }
 
-    currentIndex = 0;
-    score = 0;
     updateScoreLabel();
     updateProgressLabel();
 
@@ -213,6 +243,8 @@ public class WordReading extends JFrame {
     playButton.setEnabled(false);
     questionsSpinner.setEnabled(false);
     levelCombo.setEnabled(false);
+    setCombo.setEnabled(false);
+    partOfSpeechCombo.setEnabled(false);
     stopButton.setEnabled(true);
     correctButton.setEnabled(true);
     wrongButton.setEnabled(true);
@@ -222,14 +254,13 @@ public class WordReading extends JFrame {
 
   private void stopGame() {
     // Cancel the current game but stay on the game window ready to start another
-    gameWords.clear();
-    wrongWords.clear();
-    currentIndex = 0;
-    score = 0;
+    session = null;
     // UI state: allow user to start a new game
     playButton.setEnabled(true);
     questionsSpinner.setEnabled(true);
     levelCombo.setEnabled(true);
+    setCombo.setEnabled(true);
+    partOfSpeechCombo.setEnabled(true);
     stopButton.setEnabled(false);
     correctButton.setEnabled(false);
     wrongButton.setEnabled(false);
@@ -239,8 +270,8 @@ public class WordReading extends JFrame {
   }
 
   private void showCurrentWord() {
-    if (currentIndex < gameWords.size()) {
-      wordLabel.setText(gameWords.get(currentIndex));
+    if (!session.isFinished()) {
+      wordLabel.setText(session.currentWord());
       updateScoreLabel();
     } else {
       finishGame();
@@ -248,38 +279,13 @@ public class WordReading extends JFrame {
   }
 
   private void markAnswer(boolean wasCorrect) {
-    // record the current word if incorrect
-    String currentWord = null;
-    if (currentIndex < gameWords.size()) {
-      currentWord = gameWords.get(currentIndex);
-    }
-    if (wasCorrect) {
-      score++;
-      // record distinct correct word for the appropriate level
-      if (currentWord != null) {
-        if (activeLevel != null) {
-          correctWordsPerLevel.get(activeLevel).add(currentWord);
-        } else {
-          // when playing All, try to resolve the word's level
-          ReadingLevel rl = dictionary.getLevelOfWord(currentWord);
-          if (rl != null) {
-            correctWordsPerLevel.get(rl).add(currentWord);
-          }
-        }
-      }
-    } else if (currentWord != null) {
-      wrongWords.add(currentWord);
-    }
-    currentIndex++;
+    if (session == null) return;
+    session.markAnswer(wasCorrect);
 
     // Update per-level progress immediately after answering
     updateProgressLabel();
 
-    if (currentIndex < gameWords.size()) {
-      showCurrentWord();
-    } else {
-      finishGame();
-    }
+    showCurrentWord();
   }
 
   private void finishGame() {
@@ -287,6 +293,9 @@ public class WordReading extends JFrame {
     correctButton.setEnabled(false);
     wrongButton.setEnabled(false);
 
+    int score = session.getScore();
+    List<String> wrongWords = session.getWrongWords();
+
     // Show the list of wrong words (if any) so the user knows what to practice
     if (wrongWords.isEmpty()) {
       JOptionPane.showMessageDialog(
@@ -323,6 +332,8 @@ public class WordReading extends JFrame {
         more.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
         panel.add(more);
       }
+      panel.add(Box.createRigidArea(new Dimension(0, 6)));
+      panel.add(new JLabel("These words will come back in your next games until you know them."));
       JOptionPane.showMessageDialog(
           this, panel, "Words to practice", JOptionPane.INFORMATION_MESSAGE);
     }
@@ -337,6 +348,8 @@ public class WordReading extends JFrame {
       playButton.setEnabled(true);
       questionsSpinner.setEnabled(true);
       levelCombo.setEnabled(true);
+      setCombo.setEnabled(true);
+      partOfSpeechCombo.setEnabled(true);
       stopButton.setEnabled(false);
       // Start immediately if you want to auto-start again; here we'll start immediately
       initializeGame();
@@ -345,6 +358,8 @@ public class WordReading extends JFrame {
       playButton.setEnabled(true);
       questionsSpinner.setEnabled(true);
       levelCombo.setEnabled(true);
+      setCombo.setEnabled(true);
+      partOfSpeechCombo.setEnabled(true);
       stopButton.setEnabled(false);
       correctButton.setEnabled(false);
       wrongButton.setEnabled(false);
@@ -362,6 +377,8 @@ public class WordReading extends JFrame {
     playButton.setEnabled(true);
     questionsSpinner.setEnabled(true);
     levelCombo.setEnabled(true);
+    setCombo.setEnabled(true);
+    partOfSpeechCombo.setEnabled(true);
     updateProgressLabel();
 
     // Hide this window and show parent
@@ -372,19 +389,22 @@ public class WordReading extends JFrame {
   }
 
   private void updateScoreLabel() {
-    scoreLabel.setText(
-        String.format("Score: %d/%d", score, Math.min(currentIndex, totalQuestions)));
+    int score = session != null ? session.getScore() : 0;
+    int answered = session != null ? session.getCurrentIndex() : 0;
+    scoreLabel.setText(String.format("Score: %d/%d", score, Math.min(answered, totalQuestions)));
     // Update remaining
-    int remaining = Math.max(0, totalQuestions - currentIndex);
+    int remaining = session != null ? session.getRemaining() : totalQuestions;
     remainingLabel.setText(String.format("Remaining: %d", remaining));
   }
 
   private void updateProgressLabel() {
     Object selected = levelCombo.getSelectedItem();
-    if (selected instanceof ReadingLevel) {
+    if (dictionary == null) {
+      progressLabel.setText("Progress: loading...");
+    } else if (selected instanceof ReadingLevel) {
       ReadingLevel rl = (ReadingLevel) selected;
-      int totalWords = dictionary.getWordsForLevel(rl).size();
-      int correctCount = correctWordsPerLevel.getOrDefault(rl, java.util.Set.of()).size();
+      int totalWords = dictionary.getWordCount(rl);
+      int correctCount = progress.getCorrectCount(dictionary.getSet(), rl);
       int percent = totalWords > 0 ? (int) Math.round(100.0 * correctCount / totalWords) : 0;
       progressLabel.setText(
           String.format("Progress: %d/%d (%d%%)", correctCount, totalWords, percent));
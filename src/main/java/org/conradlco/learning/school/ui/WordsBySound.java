@@ -1,43 +1,128 @@
 package org.conradlco.learning.school.ui;
 
+import org.conradlco.learning.school.metrics.Latency;
+import org.conradlco.learning.school.metrics.Metrics;
 import org.conradlco.learning.school.words.Dictionary;
+import org.conradlco.learning.school.words.DictionarySet;
+import org.conradlco.learning.school.words.Phoneme;
+import org.conradlco.learning.school.words.PartOfSpeech;
 import org.conradlco.learning.school.words.ReadingLevel;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 public class WordsBySound extends JFrame {
   private final ExerciseSelectorWindow parentSelector;
   private final List<String> sounds = List.of("oo", "oi");
 
+  // Searches run here, one at a time, so typing never waits on the dictionary
+  private static final ExecutorService SEARCH_EXECUTOR =
+      Executors.newSingleThreadExecutor(
+          Thread.ofPlatform().name("words-by-sound-search").daemon().factory());
+  private static final int SEARCH_DELAY_MILLIS = 150;
+  private static final Latency SEARCH_TIME = Metrics.latency("words-by-sound.search");
+
   private Dictionary dictionary;
+  private SoundSearchCache searchCache;
+  // Kept per set, so switching back to a set keeps its recent searches
+  private final Map<String, SoundSearchCache> searchCaches = new HashMap<>();
 
   // UI components
+  private JComboBox<DictionarySet> setCombo;
   private JComboBox<Object> levelCombo;
+  private JComboBox<String> matchCombo; // match the spelling, or the sound however it is spelled
+  private JComboBox<Object> partOfSpeechCombo; // every word, or only nouns, verbs, ...
   private JTextField soundField;
   private JButton showButton;
   private JButton closeButton; // added close button
 
-  // Results as a panel with 3 columns and limited rows (no scroll)
+  // Words containing the current sound at each level, shown beside the level names
+  private Map<ReadingLevel, Integer> matchCounts = Map.of();
+
+  // Restarted by every edit; the search starts once typing pauses
+  private final Timer searchDelay = new Timer(SEARCH_DELAY_MILLIS, e -> startSearch());
+  private Future<?> pendingSearch;
+  private int searchGeneration; // EDT only; results from older searches are dropped
+  // The result for the current inputs, once published; Show pages from it
+  private SearchResult latestResult;
+  private boolean showWhenFound; // Show was pressed before the result for the inputs arrived
+
+  // Results as a panel with 3 columns and limited rows, one page at a time
   private JPanel resultsPanel;
   private final int OPTION_FONT_SIZE = 16; // slightly larger
-  private final int MAX_ROWS = 10; // controls maximum visible rows; capacity = MAX_ROWS * 3
+  private final int MAX_ROWS = 10; // controls maximum visible rows; page size = MAX_ROWS * 3
+
+  // One page of cells, created once and reused for every page; only their text changes
+  private final JButton[] resultCells = new JButton[MAX_ROWS * 3];
+  private final JButton previousPageButton = new JButton("< Previous");
+  private final JButton nextPageButton = new JButton("Next >");
+  private final JLabel pageLabel = new JLabel("", SwingConstants.CENTER);
+  private List<String> shownMatches = List.of();
+  private int page;
 
   public WordsBySound(ExerciseSelectorWindow parentSelector) {
     super("Word By Sounds");
     this.parentSelector = parentSelector;
 
-    this.dictionary = Dictionary.getInstance();
-
-    setBounds(400, 200, 600, 400);
+    setBounds(400, 200, 600, 450);
     setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 
     buildLayout(this.getContentPane());
+
+    loadSet(DictionarySet.getDefault());
+  }
+
+  /** Switches to the set's words, loading them in the background unless already loaded. */
+  private void loadSet(DictionarySet set) {
+    // Searching stays disabled until the words are ready
+    cancelSearch();
+    dictionary = null;
+    matchCounts = Map.of();
+    levelCombo.setModel(DictionarySetChoice.levelModel(set));
+    soundField.setEnabled(false);
+    soundField.setToolTipText("Loading words...");
+    showButton.setEnabled(false);
+    Dictionary.warmUp(set)
+        .whenComplete(
+            (loaded, error) -> SwingUtilities.invokeLater(() -> onDictionaryLoaded(loaded, error)));
+  }
+
+  private void onDictionaryLoaded(Dictionary loaded, Throwable error) {
+    if (loaded != null && loaded.getSet() != setCombo.getSelectedItem()) {
+      return; // another set was chosen while this one loaded
+    }
+    if (error != null) {
+      JOptionPane.showMessageDialog(
+          this,
+          "The word lists could not be loaded: " + error.getMessage(),
+          "No Words",
+          JOptionPane.ERROR_MESSAGE);
+      return;
+    }
+    dictionary = loaded;
+    searchCache =
+        searchCaches.computeIfAbsent(loaded.getSet().getId(), id -> new SoundSearchCache(loaded));
+    soundField.setEnabled(true);
+    soundField.setToolTipText("Enter the sound to search for (e.g. 'oo')");
+    startSearch();
+  }
+
+  @Override
+  public void dispose() {
+    searchDelay.stop();
+    cancelSearch();
+    super.dispose();
   }
 
   private void buildLayout(Container container) {
@@ -46,12 +131,16 @@ public class WordsBySound extends JFrame {
     // Top panel: level selection and sound input
     JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
 
-    DefaultComboBoxModel<Object> model = new DefaultComboBoxModel<>();
-    for (ReadingLevel rl : ReadingLevel.values()) {
-      model.addElement(rl);
-    }
-    model.addElement("All");
-    levelCombo = new JComboBox<>(model);
+    setCombo = DictionarySetChoice.comboBox();
+    levelCombo = new JComboBox<>(DictionarySetChoice.levelModel(DictionarySet.getDefault()));
+    levelCombo.setRenderer(new LevelCountRenderer());
+    // Reserve room for the match counts so the combo does not resize while typing
+    levelCombo.setPrototypeDisplayValue("All (0000)");
+
+    matchCombo = new JComboBox<>(new String[] {"Spelling", "Sound"});
+    matchCombo.setToolTipText(
+        "Spelling finds the letters; Sound finds every spelling of the sound (e.g. 'oo' in blue)");
+    partOfSpeechCombo = PartOfSpeechChoice.comboBox();
 
     soundField = new JTextField(10);
     soundField.setToolTipText("Enter the sound to search for (e.g. 'oo')");
@@ -61,8 +150,11 @@ public class WordsBySound extends JFrame {
     showButton = new JButton("Show");
     closeButton = new JButton("Close"); // create close button
 
+    topPanel.add(setCombo);
     topPanel.add(new JLabel("Level:"));
     topPanel.add(levelCombo);
+    topPanel.add(partOfSpeechCombo);
+    topPanel.add(matchCombo);
     topPanel.add(new JLabel("Sound of the Week:"));
     topPanel.add(soundField);
     topPanel.add(showButton);
@@ -70,15 +162,30 @@ public class WordsBySound extends JFrame {
 
     container.add(topPanel, BorderLayout.NORTH);
 
-    // Center: results panel (3 columns, limited rows) - no scroll pane
+    // Center: results panel (3 columns, limited rows), paged rather than scrolled
     resultsPanel = new JPanel();
     resultsPanel.setLayout(new GridLayout(MAX_ROWS, 3, 8, 8));
-    // initialize with empty placeholders so layout size is stable
-    for (int i = 0; i < MAX_ROWS * 3; i++) {
-      resultsPanel.add(new JLabel(""));
+    // every cell exists from the start (hidden until used) so layout size is stable
+    Font optionFont = new Font(Font.SANS_SERIF, Font.PLAIN, OPTION_FONT_SIZE);
+    for (int i = 0; i < resultCells.length; i++) {
+      resultCells[i] = makeOptionButton(optionFont);
+      resultsPanel.add(resultCells[i]);
     }
+    // The mouse wheel turns the page
+    resultsPanel.addMouseWheelListener(e -> showPage(page + Integer.signum(e.getWheelRotation())));
     container.add(resultsPanel, BorderLayout.CENTER);
 
+    // Bottom: paging through the matches
+    JPanel pagePanel = new JPanel(new BorderLayout(10, 0));
+    pagePanel.setBorder(BorderFactory.createEmptyBorder(0, 8, 8, 8));
+    previousPageButton.addActionListener(e -> showPage(page - 1));
+    nextPageButton.addActionListener(e -> showPage(page + 1));
+    pagePanel.add(previousPageButton, BorderLayout.WEST);
+    pagePanel.add(pageLabel, BorderLayout.CENTER);
+    pagePanel.add(nextPageButton, BorderLayout.EAST);
+    container.add(pagePanel, BorderLayout.SOUTH);
+    showPage(0);
+
     // Wire action for Show button
     showButton.addActionListener(e -> onShow());
 
@@ -90,68 +197,186 @@ public class WordsBySound extends JFrame {
       WordsBySound.this.dispose();
     });
 
-    // Live validation: enable/disable Show button depending on whether any matches exist
+    // Live validation: enable/disable Show button depending on whether any matches exist,
+    // searching in the background once typing pauses
+    searchDelay.setRepeats(false);
     soundField.getDocument().addDocumentListener(new DocumentListener() {
       public void insertUpdate(DocumentEvent e) {
-        updateShowButtonEnabled();
+        scheduleSearch();
       }
 
       public void removeUpdate(DocumentEvent e) {
-        updateShowButtonEnabled();
+        scheduleSearch();
       }
 
       public void changedUpdate(DocumentEvent e) {
-        updateShowButtonEnabled();
+        scheduleSearch();
       }
     });
 
-    levelCombo.addActionListener(e -> updateShowButtonEnabled());
+    levelCombo.addActionListener(e -> scheduleSearch());
+    setCombo.addActionListener(e -> loadSet((DictionarySet) setCombo.getSelectedItem()));
+    partOfSpeechCombo.addActionListener(e -> scheduleSearch());
+    matchCombo.addActionListener(
+        e -> {
+          soundField.setToolTipText(
+              matchBySound()
+                  ? Arrays.stream(Phoneme.values())
+                      .map(p -> p.getSpelling() + ": " + p.getExamples())
+                      .collect(Collectors.joining("<br>", "<html>Enter one of the sounds:<br>", ""))
+                  : "Enter the sound to search for (e.g. 'oo')");
+          scheduleSearch();
+        });
 
     // initialize button state
-    updateShowButtonEnabled();
+    showButton.setEnabled(false);
   }
 
-  private List<String> findMatches(String sound) {
-    if (sound == null) return List.of();
-    String s = sound.trim().toLowerCase();
-    if (s.isEmpty()) return List.of();
-
-    Object selected = levelCombo.getSelectedItem();
-    List<String> candidates = new ArrayList<>();
-
-    if (selected instanceof ReadingLevel) {
-      ReadingLevel rl = (ReadingLevel) selected;
-      candidates.addAll(dictionary.getWordsForLevel(rl));
-    } else {
-      for (ReadingLevel rl : ReadingLevel.values()) {
-        candidates.addAll(dictionary.getWordsForLevel(rl));
+  /** Runs on any thread; sound searches are index lookups, spelling ones usually cached. */
+  private static SearchResult search(
+      Dictionary words,
+      SoundSearchCache cache,
+      boolean bySound,
+      ReadingLevel level,
+      PartOfSpeech partOfSpeech,
+      String sound) {
+    long start = System.nanoTime();
+    long version = words.getVersion();
+    try {
+      if (!bySound) {
+        return new SearchResult(
+            version,
+            words.countWordsContaining(partOfSpeech, sound),
+            cache.find(level, partOfSpeech, sound));
       }
+      Phoneme phoneme = Phoneme.fromSpelling(sound);
+      if (phoneme == null) return new SearchResult(version, Map.of(), List.of());
+      return new SearchResult(
+          version,
+          words.countWordsWithSound(partOfSpeech, phoneme),
+          words.findWordsWithSound(level, partOfSpeech, phoneme));
+    } finally {
+      SEARCH_TIME.recordSince(start);
     }
+  }
 
-    List<String> matches = new ArrayList<>();
-    for (String w : candidates) {
-      if (w != null && w.toLowerCase().contains(s)) {
-        matches.add(w);
-      }
+  private boolean matchBySound() {
+    return "Sound".equals(matchCombo.getSelectedItem());
+  }
+
+  private ReadingLevel selectedLevel() {
+    Object selected = levelCombo.getSelectedItem();
+    return selected instanceof ReadingLevel ? (ReadingLevel) selected : null;
+  }
+
+  private void scheduleSearch() {
+    // Anything in flight is for text that has since changed
+    cancelSearch();
+    showWhenFound = false;
+    if (dictionary != null) {
+      searchDelay.restart();
     }
+  }
 
-    Collections.sort(matches, String.CASE_INSENSITIVE_ORDER);
-    return matches;
+  private void cancelSearch() {
+    searchGeneration++;
+    latestResult = null;
+    if (pendingSearch != null) {
+      pendingSearch.cancel(true);
+      pendingSearch = null;
+    }
   }
 
-  private void updateShowButtonEnabled() {
+  /** Searches for the current sound and level off the EDT, then publishes the result. */
+  private void startSearch() {
+    if (dictionary == null) return;
+    cancelSearch();
+    int generation = searchGeneration;
     String sound = soundField.getText();
-    List<String> matches = findMatches(sound);
-    showButton.setEnabled(!matches.isEmpty());
+    ReadingLevel level = selectedLevel();
+    boolean bySound = matchBySound();
+    PartOfSpeech partOfSpeech = PartOfSpeechChoice.selected(partOfSpeechCombo);
+    Dictionary words = dictionary;
+    SoundSearchCache cache = searchCache;
+    pendingSearch =
+        SEARCH_EXECUTOR.submit(
+            () -> {
+              SearchResult result = search(words, cache, bySound, level, partOfSpeech, sound);
+              SwingUtilities.invokeLater(
+                  () -> {
+                    // Only the latest search may update the window
+                    if (generation == searchGeneration) {
+                      pendingSearch = null;
+                      showSearchResult(sound, result);
+                    }
+                  });
+            });
+  }
+
+  private void showSearchResult(String sound, SearchResult result) {
+    latestResult = result;
+    matchCounts = result.counts();
+    showButton.setEnabled(!result.matches().isEmpty());
+    levelCombo.repaint();
+    if (showWhenFound) {
+      showWhenFound = false;
+      showMatches(sound, result.matches());
+    }
+  }
+
+  private int countFor(Object item) {
+    if (item instanceof ReadingLevel) {
+      return matchCounts.getOrDefault(item, 0);
+    }
+    return matchCounts.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  /**
+   * How many words contain a sound at every level, and the matches at the selected level, as of
+   * one version of the dictionary.
+   */
+  private record SearchResult(
+      long version, Map<ReadingLevel, Integer> counts, List<String> matches) {}
+
+  /** Shows each level with the number of words containing the current sound, e.g. "A1 (12)". */
+  private class LevelCountRenderer extends DefaultListCellRenderer {
+    @Override
+    public Component getListCellRendererComponent(
+        JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+      super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+      if (value != null && soundField != null && !soundField.getText().trim().isEmpty()) {
+        setText(value + " (" + countFor(value) + ")");
+      }
+      return this;
+    }
   }
 
-  private JButton makeOptionButton(String word) {
-    JButton b = new JButton(word);
-    b.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, OPTION_FONT_SIZE));
+  private JButton makeOptionButton(Font font) {
+    JButton b = new JButton();
+    b.setFont(font);
+    b.setVisible(false);
     b.addActionListener(ae -> {
-      ReadingLevel rl = dictionary.getLevelOfWord(word);
-      String lvl = rl != null ? rl.name() : "Unknown";
-      JOptionPane.showMessageDialog(WordsBySound.this, word + " (" + lvl + ")", "Word", JOptionPane.INFORMATION_MESSAGE);
+      // The cell shows whichever word is on the current page
+      String word = b.getText();
+      Set<ReadingLevel> levels = dictionary.getLevelsOfWord(word);
+      String lvl =
+          levels.isEmpty()
+              ? "Unknown"
+              : levels.stream().map(ReadingLevel::name).collect(Collectors.joining(", "));
+      String soundsOfWord =
+          dictionary.getSounds(word).stream()
+              .map(Phoneme::getSpelling)
+              .collect(Collectors.joining(" - "));
+      String partsOfWord =
+          dictionary.getPartsOfSpeech(word).stream()
+              .map(PartOfSpeech::getTag)
+              .collect(Collectors.joining(", "));
+      JOptionPane.showMessageDialog(
+          WordsBySound.this,
+          word + " (" + lvl + ")\nSounds: " + soundsOfWord
+              + (partsOfWord.isEmpty() ? "" : "\nPart of speech: " + partsOfWord),
+          "Word",
+          JOptionPane.INFORMATION_MESSAGE);
     });
     return b;
   }
@@ -163,37 +388,51 @@ public class WordsBySound extends JFrame {
       return;
     }
 
-    List<String> matches = findMatches(sound);
+    if (latestResult == null || latestResult.version() != dictionary.getVersion()) {
+      // Typing has not paused yet, or the word lists were reloaded: search now, show when done
+      showWhenFound = true;
+      searchDelay.stop();
+      startSearch();
+      return;
+    }
+    showMatches(sound, latestResult.matches());
+  }
+
+  private void showMatches(String sound, List<String> matches) {
+    // Start again from the first page
+    shownMatches = matches;
+    showPage(0);
 
     if (matches.isEmpty()) {
-      // Shouldn't normally happen because updateShowButtonEnabled prevents pressing, but guard anyway
-      // clear the results and inform the user
-      resultsPanel.removeAll();
-      for (int i = 0; i < MAX_ROWS * 3; i++) {
-        resultsPanel.add(new JLabel(""));
-      }
-      resultsPanel.revalidate();
-      resultsPanel.repaint();
+      // Shouldn't normally happen because the search disables Show first, but guard anyway
+      // the results are now clear; inform the user
       JOptionPane.showMessageDialog(this, "No words found containing '" + sound + "' for the selected level.", "No Matches", JOptionPane.INFORMATION_MESSAGE);
       showButton.setEnabled(false);
-      return;
     }
+  }
 
-    // Populate up to capacity (MAX_ROWS * 3). Ignore overflow (no scroll panes per requirement)
-    int capacity = MAX_ROWS * 3;
-    resultsPanel.removeAll();
-    int shown = 0;
-    for (String m : matches) {
-      if (shown >= capacity) break;
-      resultsPanel.add(makeOptionButton(m));
-      shown++;
-    }
-    // Fill remaining slots with empty labels to keep a tidy grid
-    for (int i = shown; i < capacity; i++) {
-      resultsPanel.add(new JLabel(""));
+  /** Fills the cells with one page of matches; the cost is the same however many words match. */
+  private void showPage(int requested) {
+    int pageSize = resultCells.length;
+    int pages = Math.max(1, (shownMatches.size() + pageSize - 1) / pageSize);
+    page = Math.max(0, Math.min(requested, pages - 1));
+
+    int first = page * pageSize;
+    for (int i = 0; i < pageSize; i++) {
+      JButton cell = resultCells[i];
+      if (first + i < shownMatches.size()) {
+        cell.setText(shownMatches.get(first + i));
+        cell.setVisible(true);
+      } else {
+        cell.setVisible(false);
+      }
     }
 
-    resultsPanel.revalidate();
-    resultsPanel.repaint();
+    previousPageButton.setEnabled(page > 0);
+    nextPageButton.setEnabled(page < pages - 1);
+    pageLabel.setText(
+        shownMatches.isEmpty()
+            ? ""
+            : "Page " + (page + 1) + " of " + pages + " (" + shownMatches.size() + " words)");
   }
 }
@@ -0,0 +1,190 @@
+package org.conradlco.learning.school.words;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of the binary dictionary produced by {@link DictionaryCompiler} at build time,
+ * holding the words of the default {@link DictionarySet}. The file is opened once and shared.
+ *
+ * <p>It saves reading the text word lists and sorting the suffix array, but it is not a mapped
+ * dictionary: {@link #words} still decodes each level into strings, and the n-gram and sound
+ * indexes are built from them when the level loads. Only a compact set, through {@link #arena},
+ * takes its words without decoding any.
+ *
+ * <p>Layout, big-endian:
+ *
+ * <pre>
+ * int    magic, int version
+ * short  set id length, set id bytes (UTF-8)
+ * int    level count, then per level: short name length, name bytes (UTF-8),
+ *        int first word id, int word count
+ * int    word count, int[word count + 1] string offsets
+ * int    string table length, byte[] string table (UTF-8)
+ * short[word count] part-of-speech bit masks (see {@link PartOfSpeech})
+ * int    suffix count, int[suffix count] suffix array by level (see {@link SuffixArrayIndex})
+ * </pre>
+ */
+final class CompiledDictionary {
+
+  static final String RESOURCE = "/dictionary.bin";
+  static final int MAGIC = 0x534C4442; // "SLDB"
+  static final int VERSION = 4;
+
+  private static CompiledDictionary shared;
+  private static boolean opened;
+
+  private final ByteBuffer buffer;
+  private final String setId;
+  // First word id and word count of each level, in file order
+  private final Map<ReadingLevel, int[]> levelRanges = new LinkedHashMap<>();
+  private final int offsetsStart;
+  private final int stringsStart;
+  private final int partsOfSpeechStart;
+  private final int suffixesStart;
+  private final int suffixCount;
+
+  private CompiledDictionary(ByteBuffer buffer) {
+    this.buffer = buffer;
+
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IllegalStateException("Unsupported dictionary format");
+    }
+
+    int pos = 8;
+    int idLength = buffer.getShort(pos);
+    setId = decode(pos + 2, idLength);
+    pos += 2 + idLength;
+    int levels = buffer.getInt(pos);
+    pos += 4;
+    for (int i = 0; i < levels; i++) {
+      int nameLength = buffer.getShort(pos);
+      pos += 2;
+      String name = decode(pos, nameLength);
+      pos += nameLength;
+      levelRanges.put(
+          new ReadingLevel(name), new int[] {buffer.getInt(pos), buffer.getInt(pos + 4)});
+      pos += 8;
+    }
+
+    int words = buffer.getInt(pos);
+    offsetsStart = pos + 4;
+    pos = offsetsStart + 4 * (words + 1);
+    int stringsLength = buffer.getInt(pos);
+    stringsStart = pos + 4;
+    partsOfSpeechStart = stringsStart + stringsLength;
+    pos = partsOfSpeechStart + 2 * words;
+    suffixCount = buffer.getInt(pos);
+    suffixesStart = pos + 4;
+  }
+
+  /**
+   * Returns the compiled dictionary, opening it on first use. Null when the build has not produced
+   * one, e.g. when running straight from an IDE.
+   */
+  static synchronized CompiledDictionary get() {
+    if (!opened) {
+      shared = open();
+      opened = true;
+    }
+    return shared;
+  }
+
+  /** Opens the compiled dictionary from the classpath, mapping it when it is a plain file. */
+  private static CompiledDictionary open() {
+    URL url = CompiledDictionary.class.getResource(RESOURCE);
+    if (url == null) return null;
+
+    try {
+      if ("file".equals(url.getProtocol())) {
+        try (FileChannel channel =
+            FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+          return ifCurrent(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+      }
+      // Entries inside a jar cannot be mapped, so read them onto the heap instead
+      try (InputStream in = url.openStream()) {
+        return ifCurrent(ByteBuffer.wrap(in.readAllBytes()));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (URISyntaxException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Returns null for a file from an older build, so the word lists are parsed instead. */
+  private static CompiledDictionary ifCurrent(ByteBuffer buffer) {
+    boolean stale = buffer.getInt(0) == MAGIC && buffer.getInt(4) != VERSION;
+    return stale ? null : new CompiledDictionary(buffer);
+  }
+
+  /** Returns true if the file holds exactly the set's word lists, as shipped on the classpath. */
+  boolean isFor(DictionarySet set) {
+    return set.getDirectory() == null
+        && set.getId().equals(setId)
+        && List.copyOf(levelRanges.keySet()).equals(set.getLevels());
+  }
+
+  /** Decodes the words of the level and their parts of speech, in source file order. */
+  WordList words(ReadingLevel level) {
+    int[] range = levelRanges.get(level);
+    if (range == null) return WordList.of(new String[0]);
+
+    String[] words = new String[range[1]];
+    short[] partsOfSpeech = new short[range[1]];
+    for (int i = 0; i < words.length; i++) {
+      int start = buffer.getInt(offsetsStart + 4 * (range[0] + i));
+      int end = buffer.getInt(offsetsStart + 4 * (range[0] + i + 1));
+      words[i] = decode(stringsStart + start, end - start);
+      partsOfSpeech[i] = buffer.getShort(partsOfSpeechStart + 2 * (range[0] + i));
+    }
+    return new WordList(words, partsOfSpeech);
+  }
+
+  /**
+   * Copies the string table, offsets and parts of speech into a {@link WordArena} as they are,
+   * without decoding a single word. Only valid when the file {@link #isFor} the set.
+   */
+  WordArena arena(DictionarySet set) {
+    List<ReadingLevel> levels = set.getLevels();
+    int[] levelStarts = new int[levels.size() + 1];
+    for (int i = 0; i < levels.size(); i++) {
+      int[] range = levelRanges.get(levels.get(i));
+      levelStarts[i + 1] = range[0] + range[1];
+    }
+    int words = levelStarts[levels.size()];
+
+    int[] offsets = new int[words + 1];
+    buffer.slice(offsetsStart, 4 * (words + 1)).asIntBuffer().get(offsets);
+    byte[] text = new byte[offsets[words]];
+    buffer.get(stringsStart, text);
+    short[] partsOfSpeech = new short[words];
+    buffer.slice(partsOfSpeechStart, 2 * words).asShortBuffer().get(partsOfSpeech);
+    return new WordArena(levels, text, offsets, partsOfSpeech, levelStarts);
+  }
+
+  /** Returns the prebuilt suffix array over every level. */
+  int[] suffixes() {
+    int[] suffixes = new int[suffixCount];
+    buffer.slice(suffixesStart, 4 * suffixCount).asIntBuffer().get(suffixes);
+    return suffixes;
+  }
+
+  private String decode(int pos, int length) {
+    byte[] bytes = new byte[length];
+    buffer.get(pos, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -1,86 +1,810 @@
 package org.conradlco.learning.school.words;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import org.conradlco.learning.school.metrics.DictionaryLoadEvent;
+import org.conradlco.learning.school.metrics.DictionaryQueryEvent;
+import org.conradlco.learning.school.metrics.Histogram;
+import org.conradlco.learning.school.metrics.Latency;
+import org.conradlco.learning.school.metrics.Metrics;
 
+/**
+ * The word lists for every reading level of one {@link DictionarySet}. Loaded lazily and immutable
+ * once loaded, so the query methods are safe to call from any thread and never block once a level
+ * is in memory.
+ *
+ * <p>Word lists that are files on disk are watched, whether a set's own directory or the shipped
+ * lists when running from unpacked classes: when a teacher edits a word list that has been loaded,
+ * its level is rebuilt in the background and swapped in with the rest of the words as a new
+ * snapshot, so a query sees either the old words or the new, never a mix. Lists inside a jar
+ * cannot change while running and are not watched.
+ *
+ * <p>A set with compact storage (see {@link DictionarySet}) keeps its words in a {@link WordArena}
+ * and serves word lists, counts, random words and level lookups from it. The search indexes, which
+ * hold the words as strings, are built only when the set is first searched.
+ */
 public class Dictionary {
 
-  private static Dictionary instance;
+  // One dictionary per set, kept once loaded so switching sets never reloads one
+  private static final ConcurrentMap<String, Dictionary> instances = new ConcurrentHashMap<>();
 
-  private final Random random = new Random();
+  private static final ConcurrentMap<String, CompletableFuture<Dictionary>> warmUps =
+      new ConcurrentHashMap<>();
 
-  private Map<ReadingLevel, List<DictionaryEntry>> entries;
+  // Loaded levels of every set, by word list, so sets listing the same list share its indexes
+  private static final ConcurrentMap<String, CompletableFuture<LevelWords>> sharedLevels =
+      new ConcurrentHashMap<>();
 
-  private Dictionary() {
-    entries = new HashMap<>();
+  // Told when an edited word list cannot be read, so the teacher learns the edit was not taken
+  private static final List<BiConsumer<Path, Exception>> reloadFailureHandlers =
+      new CopyOnWriteArrayList<>();
 
-    for (ReadingLevel level : ReadingLevel.values()) {
-      entries.put(level, new ArrayList<>());
-    }
+  private static final Latency LOAD_TIME = Metrics.latency("dictionary.load");
+  private static final Latency INDEX_TIME = Metrics.latency("dictionary.index");
+  private static final Latency QUERY_TIME = Metrics.latency("dictionary.query");
+  private static final Histogram QUERY_RESULTS = Metrics.histogram("dictionary.query.results");
+
+  private final DictionarySet set;
+
+  // Compiled by the build when available; otherwise levels are parsed from the word lists
+  private final CompiledDictionary compiled;
+
+  // Where each level's words come from
+  private final Function<ReadingLevel, WordList> source;
+
+  // Whether levels are loaded through sharedLevels, so they are shared with other sets
+  private final boolean shared;
+
+  // Whether words are kept in the snapshot's WordArena, with levels built from it when searched
+  private final boolean compact;
 
-    loadFile("Words_A1.txt", ReadingLevel.A1);
-    loadFile("Words_A2.txt", ReadingLevel.A2);
-    loadFile("Words_B1.txt", ReadingLevel.B1);
-    loadFile("Words_B2.txt", ReadingLevel.B2);
+  // The words queries read; each query reads it once, so reloading a word list never changes the
+  // words under a query that has started
+  private volatile Snapshot snapshot = new Snapshot(0, new ConcurrentHashMap<>());
+
+  /** The set's words, from the compiled dictionary when it holds them; levels may be shared. */
+  Dictionary(DictionarySet set, boolean shareLevels) {
+    CompiledDictionary file = CompiledDictionary.get();
+    this.set = set;
+    this.compiled = file != null && file.isFor(set) ? file : null;
+    this.source = compiled != null ? compiled::words : set::load;
+    this.compact = set.isCompact();
+    // A compact set's levels come from its own arena
+    this.shared = shareLevels && !compact;
+  }
+
+  /** A dictionary separate from the shared instances, over words supplied per level. */
+  Dictionary(DictionarySet set, Function<ReadingLevel, WordList> source) {
+    this.set = set;
+    this.compiled = null;
+    this.source = source;
+    this.shared = false;
+    this.compact = false;
   }
 
+  /** The dictionary of the default set. */
   public static Dictionary getInstance() {
-    if (instance == null) {
-      instance = new Dictionary();
+    return getInstance(DictionarySet.getDefault());
+  }
+
+  public static Dictionary getInstance(DictionarySet set) {
+    return instances.computeIfAbsent(
+        set.getId(),
+        id -> {
+          for (ReadingLevel level : set.getLevels()) {
+            Path file = set.fileOf(level);
+            if (file != null) WordListWatcher.watch(file.getParent());
+          }
+          return new Dictionary(set, true);
+        });
+  }
+
+  /** Warms up the dictionary of the default set; see {@link #warmUp(DictionarySet)}. */
+  public static CompletableFuture<Dictionary> warmUp() {
+    return warmUp(DictionarySet.getDefault());
+  }
+
+  /**
+   * Starts loading every level of the set in parallel off the calling thread, then builds the
+   * cross-level indexes; for a compact set only the arena is loaded. Returns a future that
+   * completes with the fully loaded dictionary; repeated calls for a set return the same future.
+   */
+  public static CompletableFuture<Dictionary> warmUp(DictionarySet set) {
+    CompletableFuture<Dictionary> existing = warmUps.get(set.getId());
+    if (existing != null) return existing;
+
+    CompletableFuture<Dictionary> started = new CompletableFuture<>();
+    existing = warmUps.putIfAbsent(set.getId(), started);
+    if (existing != null) return existing;
+
+    Dictionary dictionary = getInstance(set);
+    CompletableFuture<?> loaded;
+    if (dictionary.compact) {
+      loaded = CompletableFuture.runAsync(() -> dictionary.snapshot.arena());
+    } else {
+      CompletableFuture<?>[] loads =
+          set.getLevels().stream()
+              .map(level -> CompletableFuture.runAsync(() -> dictionary.snapshot.level(level)))
+              .toArray(CompletableFuture[]::new);
+      loaded = CompletableFuture.allOf(loads).thenRun(() -> dictionary.snapshot.allLevels());
     }
+    loaded.whenComplete(
+            (v, error) -> {
+              if (error != null) started.completeExceptionally(error);
+              else started.complete(dictionary);
+            });
+    return started;
+  }
 
-    return instance;
+  public DictionarySet getSet() {
+    return set;
   }
 
+  /** The levels of the dictionary's set, easiest first. */
+  public List<ReadingLevel> getLevels() {
+    return set.getLevels();
+  }
+
+  /**
+   * Goes up by one each time a word list is reloaded, so results cached from an older version can
+   * be recognised as stale.
+   */
+  public long getVersion() {
+    return snapshot.version;
+  }
+
+  /** Returns a read-only view of the words for the level, in file order. */
   public List<String> getWordsForLevel(ReadingLevel level) {
-    return entries.get(level).stream().map(DictionaryEntry::word).toList();
+    if (compact) return snapshot.arena().words(checked(level));
+    return snapshot.level(level).view;
   }
 
-  public String getRandomWord() {
-    int randomLevel = random.nextInt(ReadingLevel.values().length);
+  /**
+   * Returns a read-only view of the words tagged with the part of speech, in file order. A null
+   * level means every level, a null part of speech every word. Served from lists built at load.
+   */
+  public List<String> getWords(ReadingLevel level, PartOfSpeech partOfSpeech) {
+    return snapshot.words(level, partOfSpeech).view;
+  }
 
-    List<String> words = getWordsForLevel(ReadingLevel.values()[randomLevel]);
-    int index = random.nextInt(words.size());
+  /** Returns the level's words with their parts of speech, created as they are read. */
+  public List<DictionaryEntry> getEntriesForLevel(ReadingLevel level) {
+    if (compact) return snapshot.arena().entries(checked(level));
+    LevelWords words = snapshot.level(level);
+    return new AbstractList<>() {
+      @Override
+      public DictionaryEntry get(int index) {
+        return new DictionaryEntry(words.words[index], level, words.partsOfSpeech[index]);
+      }
 
-    return words.get(index);
+      @Override
+      public int size() {
+        return words.words.length;
+      }
+    };
+  }
+
+  /** Returns a read-only view of every word, ordered by level and then file order. */
+  public List<String> getAllWords() {
+    if (compact) return snapshot.arena().words(null);
+    return snapshot.allLevels().words.view;
+  }
+
+  public int getWordCount(ReadingLevel level) {
+    if (compact) return snapshot.arena().size(checked(level));
+    return snapshot.level(level).words.length;
+  }
+
+  public int getWordCount() {
+    return snapshot.wordCount();
+  }
+
+  /** Returns a random word from any level, every word being equally likely. */
+  public String getRandomWord() {
+    if (compact) return snapshot.arena().randomWord(null, ThreadLocalRandom.current());
+    Snapshot words = snapshot;
+    // Per-thread generator so concurrent callers never contend on a shared seed
+    return words.wordAt(ThreadLocalRandom.current().nextInt(words.wordCount()));
   }
 
   public String getRandomWordForLevel(ReadingLevel level) {
     List<String> words = getWordsForLevel(level);
-    int index = random.nextInt(words.size());
+    int index = ThreadLocalRandom.current().nextInt(words.size());
     return words.get(index);
   }
 
+  /**
+   * Returns {@code count} distinct entries drawn at random without replacement, or every entry in
+   * random order if there are fewer. A null level samples across all levels, every word being
+   * equally likely. Costs O(count) whatever the size of the dictionary.
+   */
+  public List<String> sampleWords(ReadingLevel level, int count, RandomGenerator random) {
+    return sampleWords(level, null, count, random);
+  }
+
+  /** As {@link #sampleWords(ReadingLevel, int, RandomGenerator)}, from one part of speech. */
+  public List<String> sampleWords(
+      ReadingLevel level, PartOfSpeech partOfSpeech, int count, RandomGenerator random) {
+    Snapshot words = snapshot;
+    // Whole levels are read in place; across levels by position, so no combined list is needed
+    List<String> from =
+        partOfSpeech != null
+            ? words.words(level, partOfSpeech).view
+            : compact ? words.arena().words(level != null ? checked(level) : null)
+            : level != null ? words.level(level).view : null;
+    int n = from != null ? from.size() : words.wordCount();
+    int k = Math.max(0, Math.min(count, n));
+    String[] sample = new String[k];
+
+    // Partial Fisher-Yates over the positions 0..n-1. For small samples only the swapped slots are
+    // stored, so nothing proportional to n is allocated.
+    int[] dense = k * 4 >= n ? new int[n] : null;
+    Map<Integer, Integer> sparse = dense == null ? new HashMap<>(k * 2) : null;
+    if (dense != null) {
+      for (int i = 0; i < n; i++) dense[i] = i;
+    }
+
+    for (int i = 0; i < k; i++) {
+      int j = i + random.nextInt(n - i);
+      int picked;
+      if (dense != null) {
+        picked = dense[j];
+        dense[j] = dense[i];
+      } else {
+        picked = sparse.getOrDefault(j, j);
+        sparse.put(j, sparse.getOrDefault(i, i));
+      }
+      sample[i] = from != null ? from.get(picked) : words.wordAt(picked);
+    }
+    return readOnlyView(sample);
+  }
+
+  /**
+   * Returns the level of the word, ignoring case. When the word is listed at more than one level
+   * the lowest level wins. Returns null for unknown words.
+   */
   public ReadingLevel getLevelOfWord(String word) {
-    if (word == null) return null;
-    for (Map.Entry<ReadingLevel, List<DictionaryEntry>> e : entries.entrySet()) {
-      for (DictionaryEntry de : e.getValue()) {
-        if (word.equals(de.word())) {
-          return e.getKey();
-        }
+    Set<ReadingLevel> levels = getLevelsOfWord(word);
+    return levels.isEmpty() ? null : levels.iterator().next();
+  }
+
+  /** Returns every level the word is listed at, lowest first, or an empty set if unknown. */
+  public Set<ReadingLevel> getLevelsOfWord(String word) {
+    if (word == null) return Set.of();
+    if (compact) return snapshot.arena().levelsOf(word);
+    KnownWord known = snapshot.allLevels().knownWords.get(normalise(word));
+    return known != null ? known.levels() : Set.of();
+  }
+
+  /** Returns the word's parts of speech at every level it is listed at, or none if unknown. */
+  public Set<PartOfSpeech> getPartsOfSpeech(String word) {
+    if (word == null) return Set.of();
+    if (compact) return PartOfSpeech.fromMask(snapshot.arena().partsOfSpeechOf(word));
+    KnownWord known = snapshot.allLevels().knownWords.get(normalise(word));
+    return known != null ? PartOfSpeech.fromMask(known.partsOfSpeech()) : Set.of();
+  }
+
+  /**
+   * Returns the words containing the fragment, ignoring case and surrounding whitespace, sorted
+   * case-insensitively. A null level searches every level.
+   */
+  public List<String> findWordsContaining(ReadingLevel level, String fragment) {
+    return findWordsContaining(level, null, fragment);
+  }
+
+  /** As {@link #findWordsContaining(ReadingLevel, String)}, among one part of speech. */
+  public List<String> findWordsContaining(
+      ReadingLevel level, PartOfSpeech partOfSpeech, String fragment) {
+    if (fragment == null) return List.of();
+    String s = normalise(fragment.trim());
+    if (s.isEmpty()) return List.of();
+
+    DictionaryQueryEvent event = new DictionaryQueryEvent();
+    event.begin();
+    long start = System.nanoTime();
+    List<String> matches = snapshot.words(level, partOfSpeech).soundIndex.find(s);
+    recordQuery(event, start, "contains", s, level, partOfSpeech, matches.size());
+    return matches;
+  }
+
+  /**
+   * Returns the words containing the sound, however it is spelled, sorted case-insensitively. A
+   * null level searches every level. Sounds come from spelling rules, so irregular words may be
+   * missed.
+   */
+  public List<String> findWordsWithSound(ReadingLevel level, Phoneme sound) {
+    return findWordsWithSound(level, null, sound);
+  }
+
+  /** As {@link #findWordsWithSound(ReadingLevel, Phoneme)}, among one part of speech. */
+  public List<String> findWordsWithSound(
+      ReadingLevel level, PartOfSpeech partOfSpeech, Phoneme sound) {
+    DictionaryQueryEvent event = new DictionaryQueryEvent();
+    event.begin();
+    long start = System.nanoTime();
+    List<String> matches = snapshot.words(level, partOfSpeech).phonemeIndex.find(sound);
+    recordQuery(event, start, "sound", String.valueOf(sound), level, partOfSpeech, matches.size());
+    return matches;
+  }
+
+  /**
+   * Returns how many words at each level contain the sound. Every level is present, easiest first.
+   */
+  public Map<ReadingLevel, Integer> countWordsWithSound(Phoneme sound) {
+    return countWordsWithSound(null, sound);
+  }
+
+  /** As {@link #countWordsWithSound(Phoneme)}, among one part of speech (null for all). */
+  public Map<ReadingLevel, Integer> countWordsWithSound(PartOfSpeech partOfSpeech, Phoneme sound) {
+    Snapshot words = snapshot;
+    Map<ReadingLevel, Integer> counts = new LinkedHashMap<>();
+    for (ReadingLevel level : set.getLevels()) {
+      counts.put(level, words.words(level, partOfSpeech).phonemeIndex.find(sound).size());
+    }
+    return counts;
+  }
+
+  /** Returns the sounds of a word in order, as the spelling rules read it. */
+  public List<Phoneme> getSounds(String word) {
+    return word == null ? List.of() : GraphemeToPhoneme.transcribe(word);
+  }
+
+  /**
+   * Returns how many words at each level contain the fragment, ignoring case and surrounding
+   * whitespace. Every level is present in the result, easiest first, with zero when nothing
+   * matches.
+   */
+  public Map<ReadingLevel, Integer> countWordsContaining(String fragment) {
+    Map<ReadingLevel, Integer> counts = new LinkedHashMap<>();
+    String s = fragment == null ? "" : normalise(fragment.trim());
+    int[] perLevel = s.isEmpty() ? null : snapshot.allLevels().suffixIndex.countByLevel(s);
+    for (ReadingLevel level : set.getLevels()) {
+      counts.put(level, perLevel == null ? 0 : perLevel[set.indexOf(level)]);
+    }
+    return counts;
+  }
+
+  /** As {@link #countWordsContaining(String)}, among one part of speech (null for all). */
+  public Map<ReadingLevel, Integer> countWordsContaining(
+      PartOfSpeech partOfSpeech, String fragment) {
+    if (partOfSpeech == null) return countWordsContaining(fragment);
+
+    Snapshot words = snapshot;
+    String s = fragment == null ? "" : normalise(fragment.trim());
+    Map<ReadingLevel, Integer> counts = new LinkedHashMap<>();
+    for (ReadingLevel level : set.getLevels()) {
+      counts.put(
+          level, s.isEmpty() ? 0 : words.words(level, partOfSpeech).soundIndex.find(s).size());
+    }
+    return counts;
+  }
+
+  private static void recordQuery(
+      DictionaryQueryEvent event,
+      long start,
+      String query,
+      String argument,
+      ReadingLevel level,
+      PartOfSpeech partOfSpeech,
+      int results) {
+    QUERY_TIME.recordSince(start);
+    QUERY_RESULTS.record(results);
+    if (event.shouldCommit()) {
+      event.query = query;
+      event.argument = argument;
+      event.level = level != null ? level.name() : "All";
+      event.partOfSpeech = partOfSpeech != null ? partOfSpeech.name() : null;
+      event.results = results;
+      event.commit();
+    }
+  }
+
+  /**
+   * Re-reads the word list at the path into every dictionary listing it, if one has loaded it; a
+   * list not loaded yet is read as it is when first queried. Called by the {@link WordListWatcher}
+   * when a list changes, off the threads that query.
+   */
+  static void reload(Path file) {
+    // Sets listing the same file share its words, read once
+    Map<String, LevelWords> reloaded = new HashMap<>();
+    for (Dictionary dictionary : instances.values()) {
+      ReadingLevel level = dictionary.set.levelAt(file);
+      if (level == null) continue;
+      if (dictionary.compact) {
+        dictionary.reloadArena();
+        continue;
+      }
+      String source = dictionary.set.sourceOf(level);
+      if (!sharedLevels.containsKey(source)) continue;
+      LevelWords words = reloaded.get(source);
+      if (words == null) {
+        DictionarySet set = dictionary.set;
+        words = dictionary.loadLevel(level, () -> set.load(level), true);
+        sharedLevels.put(source, CompletableFuture.completedFuture(words));
+        reloaded.put(source, words);
       }
+      dictionary.replace(level, words);
+    }
+  }
+
+  /**
+   * Calls the handler whenever an edited word list cannot be reloaded, with the file (or the
+   * directory, if its lists could not be listed) and the error. The words already loaded stay in
+   * use. Called on the watcher thread.
+   */
+  public static void onReloadFailure(BiConsumer<Path, Exception> handler) {
+    reloadFailureHandlers.add(handler);
+  }
+
+  /** Passes a failed reload to every handler; see {@link #onReloadFailure}. */
+  static void reloadFailed(Path file, Exception error) {
+    for (BiConsumer<Path, Exception> handler : reloadFailureHandlers) {
+      handler.accept(file, error);
     }
-    return null;
   }
 
-  private void loadFile(String filename, ReadingLevel level) {
-    List<DictionaryEntry> levelEntries = entries.get(level);
+  /** Builds the level's words and indexes, timed as a load. */
+  private LevelWords loadLevel(ReadingLevel level, Supplier<WordList> list, boolean reload) {
+    DictionaryLoadEvent event = new DictionaryLoadEvent();
+    event.begin();
+    long start = System.nanoTime();
+    LevelWords words = new LevelWords(list.get());
+    LOAD_TIME.recordSince(start);
+    event.set = set.getId();
+    event.level = level.name();
+    event.words = words.words.length;
+    event.reload = reload;
+    event.commit();
+    return words;
+  }
+
+  /** Swaps in a snapshot with the level's words replaced. */
+  private synchronized void replace(ReadingLevel level, LevelWords words) {
+    swap(snapshot.with(level, words));
+  }
+
+  /** Swaps in a snapshot over a newly loaded arena, if the arena has been loaded at all. */
+  private synchronized void reloadArena() {
+    Snapshot current = snapshot;
+    if (current.arena == null) return;
+    Snapshot next = new Snapshot(current.version + 1, new ConcurrentHashMap<>());
+    next.arena();
+    // Levels are built from the arena, so rebuild those the current snapshot had
+    current.levels.forEach(
+        (level, loaded) -> {
+          if (loaded.isDone()) next.level(level);
+        });
+    swap(next);
+  }
+
+  private synchronized void swap(Snapshot next) {
+    Snapshot current = snapshot;
+    // Build whatever the current snapshot had built before swapping, so no query waits for it
+    if (current.allLevels != null) next.allLevels();
+    if (current.cumulativeCounts != null) next.cumulativeCounts();
+    snapshot = next;
+  }
+
+  /** Returns the level, throwing if it is not one of the set's. */
+  private ReadingLevel checked(ReadingLevel level) {
+    set.indexOf(level);
+    return level;
+  }
+
+  /**
+   * Returns the words already loaded under the key, or loads them with the loader. Whoever
+   * registers the future first loads them; everyone else waits on it.
+   */
+  private static <K> LevelWords load(
+      ConcurrentMap<K, CompletableFuture<LevelWords>> loaded, K key, Supplier<LevelWords> loader) {
+    CompletableFuture<LevelWords> words = loaded.get(key);
+    if (words == null) {
+      CompletableFuture<LevelWords> loading = new CompletableFuture<>();
+      words = loaded.putIfAbsent(key, loading);
+      if (words == null) {
+        words = loading;
+        try {
+          loading.complete(loader.get());
+        } catch (RuntimeException e) {
+          loaded.remove(key, loading);
+          loading.completeExceptionally(e);
+        }
+      }
+    }
     try {
-      BufferedReader br = new BufferedReader(new FileReader("src/main/resources/" + filename));
-      List<String> words = br.readAllLines();
-      for (String word : words) {
-        String[] split = word.split(" ");
-        levelEntries.add(new DictionaryEntry(split[0], level));
+      return words.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      throw e;
+    }
+  }
+
+  private static String normalise(String word) {
+    return word.toLowerCase(Locale.ROOT);
+  }
+
+  private static List<String> readOnlyView(String[] words) {
+    return Collections.unmodifiableList(Arrays.asList(words));
+  }
+
+  /**
+   * One version of the dictionary's words. Levels are still loaded as they are first queried, but
+   * a level never changes once loaded into a snapshot: a reloaded word list goes into a new one.
+   */
+  private final class Snapshot {
+    final long version;
+
+    // Each level is loaded the first time it is queried, or by the background warm-up
+    private final ConcurrentMap<ReadingLevel, CompletableFuture<LevelWords>> levels;
+
+    // Indexes spanning every level, built the first time a cross-level query needs them
+    private volatile AllLevels allLevels;
+
+    // Running word totals by level, mapping a position across all levels to its level
+    private volatile int[] cumulativeCounts;
+
+    // Every word, for a compact set; loaded on first use
+    private volatile WordArena arena;
+
+    Snapshot(long version, ConcurrentMap<ReadingLevel, CompletableFuture<LevelWords>> levels) {
+      this.version = version;
+      this.levels = levels;
+    }
+
+    /** A copy of this snapshot with the level's words replaced and everything else kept. */
+    Snapshot with(ReadingLevel changed, LevelWords words) {
+      ConcurrentMap<ReadingLevel, CompletableFuture<LevelWords>> next = new ConcurrentHashMap<>();
+      levels.forEach(
+          (level, loaded) -> {
+            if (loaded.isDone() && !loaded.isCompletedExceptionally()) next.put(level, loaded);
+          });
+      next.put(changed, CompletableFuture.completedFuture(words));
+      return new Snapshot(version + 1, next);
+    }
+
+    /** The words of a level, or of every level when null, narrowed to a part of speech if given. */
+    LevelWords words(ReadingLevel level, PartOfSpeech partOfSpeech) {
+      LevelWords words = level != null ? level(level) : allLevels().words;
+      return partOfSpeech != null ? words.only(partOfSpeech) : words;
+    }
+
+    LevelWords level(ReadingLevel level) {
+      set.indexOf(level); // rejects levels of other sets
+      Supplier<WordList> list;
+      if (compact) {
+        list = () -> arena().list(level);
+      } else if (version > 0 && compiled != null) {
+        // A list was edited since the build compiled them, so read the lists themselves
+        list = () -> set.load(level);
+      } else {
+        list = () -> source.apply(level);
+      }
+      Supplier<LevelWords> loader = () -> loadLevel(level, list, false);
+      // Shared levels are keyed by word list, so sets listing the same list load it once
+      return load(
+          levels, level, shared ? () -> load(sharedLevels, set.sourceOf(level), loader) : loader);
+    }
+
+    int wordCount() {
+      if (compact) return arena().size();
+      int[] counts = cumulativeCounts();
+      return counts[counts.length - 1];
+    }
+
+    /** Returns the word at the position across all levels, ordered by level then file order. */
+    String wordAt(int position) {
+      int[] counts = cumulativeCounts();
+      int lo = 0;
+      int hi = counts.length - 1;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (counts[mid] > position) hi = mid;
+        else lo = mid + 1;
       }
+      int offset = lo == 0 ? position : position - counts[lo - 1];
+      return level(set.getLevels().get(lo)).words[offset];
+    }
 
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+    int[] cumulativeCounts() {
+      int[] counts = cumulativeCounts;
+      if (counts == null) {
+        // Racing callers compute the same table, so there is no need to lock
+        List<ReadingLevel> all = set.getLevels();
+        counts = new int[all.size()];
+        int total = 0;
+        for (int i = 0; i < counts.length; i++) {
+          total += level(all.get(i)).words.length;
+          counts[i] = total;
+        }
+        cumulativeCounts = counts;
+      }
+      return counts;
+    }
+
+    WordArena arena() {
+      WordArena words = arena;
+      if (words == null) {
+        synchronized (this) {
+          words = arena;
+          if (words == null) {
+            DictionaryLoadEvent event = new DictionaryLoadEvent();
+            event.begin();
+            long start = System.nanoTime();
+            // After an edit the compiled words are out of date
+            words = version == 0 ? WordArena.load(set) : WordArena.read(set);
+            LOAD_TIME.recordSince(start);
+            event.set = set.getId();
+            event.level = "All";
+            event.words = words.size();
+            event.reload = version > 0;
+            event.commit();
+            arena = words;
+          }
+        }
+      }
+      return words;
+    }
+
+    AllLevels allLevels() {
+      AllLevels all = allLevels;
+      if (all == null) {
+        synchronized (this) {
+          all = allLevels;
+          if (all == null) {
+            DictionaryLoadEvent event = new DictionaryLoadEvent();
+            event.begin();
+            long start = System.nanoTime();
+            // The compiled suffix array only matches the words as they were compiled
+            all = new AllLevels(this, version == 0 ? compiled : null);
+            INDEX_TIME.recordSince(start);
+            event.set = set.getId();
+            event.level = "All";
+            event.words = all.words.words.length;
+            event.reload = version > 0;
+            event.commit();
+            allLevels = all;
+          }
+        }
+      }
+      return all;
+    }
+  }
+
+  /** The words of one level and their search indexes, immutable once loaded. */
+  private static final class LevelWords {
+    static final LevelWords EMPTY = new LevelWords(WordList.of(new String[0]), false);
+
+    final String[] words;
+    final short[] partsOfSpeech; // PartOfSpeech bit mask of each word
+    final List<String> view; // read-only view over words; never copied on query
+    final NGramIndex soundIndex;
+    final PhonemeIndex phonemeIndex;
+    // The same again for the words of each part of speech, so filtered queries are lookups too
+    private final Map<PartOfSpeech, LevelWords> byPartOfSpeech =
+        new EnumMap<>(PartOfSpeech.class);
+
+    LevelWords(WordList list) {
+      this(list, true);
+    }
+
+    private LevelWords(WordList list, boolean splitByPartOfSpeech) {
+      this.words = list.words();
+      this.partsOfSpeech = list.partsOfSpeech();
+      this.view = readOnlyView(words);
+      this.soundIndex = new NGramIndex(view);
+      this.phonemeIndex = new PhonemeIndex(view);
+      if (splitByPartOfSpeech) {
+        for (PartOfSpeech part : PartOfSpeech.values()) {
+          WordList tagged = only(list, part);
+          if (tagged.size() > 0) byPartOfSpeech.put(part, new LevelWords(tagged, false));
+        }
+      }
+    }
+
+    LevelWords only(PartOfSpeech part) {
+      return byPartOfSpeech.getOrDefault(part, EMPTY);
+    }
+
+    private static WordList only(WordList list, PartOfSpeech part) {
+      int count = 0;
+      for (short mask : list.partsOfSpeech()) {
+        if ((mask & part.bit()) != 0) count++;
+      }
+      String[] words = new String[count];
+      short[] masks = new short[count];
+      int next = 0;
+      for (int i = 0; i < list.size(); i++) {
+        if ((list.partsOfSpeech()[i] & part.bit()) != 0) {
+          words[next] = list.words()[i];
+          masks[next++] = list.partsOfSpeech()[i];
+        }
+      }
+      return new WordList(words, masks);
+    }
+  }
+
+  /** Every level a word is listed at, and its parts of speech across them. */
+  private record KnownWord(Set<ReadingLevel> levels, int partsOfSpeech) {}
+
+  /** Indexes over the words of every level, loading any level not yet loaded. */
+  private final class AllLevels {
+    final LevelWords words;
+    final SuffixArrayIndex suffixIndex;
+    // Case-normalised word -> every level the word appears in, and its parts of speech
+    final Map<String, KnownWord> knownWords = new HashMap<>();
+
+    AllLevels(Snapshot snapshot, CompiledDictionary compiled) {
+      List<List<String>> levelWords = new ArrayList<>();
+      int total = 0;
+      for (ReadingLevel level : set.getLevels()) {
+        levelWords.add(snapshot.level(level).view);
+        total += snapshot.level(level).words.length;
+      }
+
+      String[] all = new String[total];
+      short[] allPartsOfSpeech = new short[total];
+      int offset = 0;
+      for (ReadingLevel level : set.getLevels()) {
+        LevelWords lw = snapshot.level(level);
+        System.arraycopy(lw.words, 0, all, offset, lw.words.length);
+        System.arraycopy(lw.partsOfSpeech, 0, allPartsOfSpeech, offset, lw.words.length);
+        offset += lw.words.length;
+      }
+      words = new LevelWords(new WordList(all, allPartsOfSpeech));
+
+      // Levels as bit masks while building; words listed at the same levels share one set
+      Map<String, Integer> index = new HashMap<>(total * 4 / 3 + 1);
+      Map<String, Integer> partsOfSpeech = new HashMap<>(total * 4 / 3 + 1);
+      List<ReadingLevel> levels = set.getLevels();
+      for (int l = 0; l < levels.size(); l++) {
+        LevelWords lw = snapshot.level(levels.get(l));
+        for (int i = 0; i < lw.words.length; i++) {
+          String word = normalise(lw.words[i]);
+          index.merge(word, 1 << l, (a, b) -> a | b);
+          partsOfSpeech.merge(word, (int) lw.partsOfSpeech[i], (a, b) -> a | b);
+        }
+      }
+      Map<Integer, Set<ReadingLevel>> levelSets = new HashMap<>();
+      index.forEach(
+          (word, mask) ->
+              knownWords.put(
+                  word,
+                  new KnownWord(
+                      levelSets.computeIfAbsent(mask, m -> levelsOf(levels, m)),
+                      partsOfSpeech.get(word))));
+
+      suffixIndex =
+          new SuffixArrayIndex(levelWords, compiled != null ? compiled.suffixes() : null);
+    }
+
+    /** The levels whose bits are set in the mask, easiest first. */
+    private static Set<ReadingLevel> levelsOf(List<ReadingLevel> levels, int mask) {
+      Set<ReadingLevel> of = new LinkedHashSet<>();
+      for (int l = 0; l < levels.size(); l++) {
+        if ((mask & 1 << l) != 0) of.add(levels.get(l));
+      }
+      return Collections.unmodifiableSet(of);
     }
   }
 }
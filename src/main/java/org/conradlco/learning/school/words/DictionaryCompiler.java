@@ -0,0 +1,105 @@
+package org.conradlco.learning.school.words;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles the word lists of the default {@link DictionarySet} into the binary format read by
+ * {@link CompiledDictionary}. Run by the Maven build with the resource directory, holding the
+ * manifest and word lists, and the output file as arguments.
+ */
+public class DictionaryCompiler {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: DictionaryCompiler <resource directory> <output file>");
+      System.exit(1);
+    }
+
+    Path source = Path.of(args[0]);
+    Path target = Path.of(args[1]);
+
+    DictionarySet set;
+    try (BufferedReader manifest =
+        Files.newBufferedReader(source.resolve(DictionarySet.MANIFEST), StandardCharsets.UTF_8)) {
+      // Read as a classpath set, as it will be at runtime; only the word lists come from disk
+      set = DictionarySet.read(manifest, null).get(0);
+    }
+    List<WordList> levels = new ArrayList<>();
+    for (ReadingLevel level : set.getLevels()) {
+      Path file = source.resolve(set.fileFor(level));
+      try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        levels.add(WordListLoader.read(reader));
+      }
+    }
+
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    try (OutputStream out = Files.newOutputStream(target)) {
+      write(set, levels, out);
+    }
+  }
+
+  /** Writes the words, one list per level of the set in order. */
+  static void write(DictionarySet set, List<WordList> levels, OutputStream target)
+      throws IOException {
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+    out.writeInt(CompiledDictionary.MAGIC);
+    out.writeInt(CompiledDictionary.VERSION);
+    byte[] id = set.getId().getBytes(StandardCharsets.UTF_8);
+    out.writeShort(id.length);
+    out.write(id);
+
+    List<ReadingLevel> readingLevels = set.getLevels();
+    out.writeInt(readingLevels.size());
+    int firstWord = 0;
+    for (int l = 0; l < readingLevels.size(); l++) {
+      byte[] name = readingLevels.get(l).name().getBytes(StandardCharsets.UTF_8);
+      out.writeShort(name.length);
+      out.write(name);
+      out.writeInt(firstWord);
+      out.writeInt(levels.get(l).size());
+      firstWord += levels.get(l).size();
+    }
+
+    List<byte[]> strings = new ArrayList<>(firstWord);
+    List<List<String>> words = new ArrayList<>();
+    for (WordList level : levels) {
+      for (String word : level.words()) {
+        strings.add(word.getBytes(StandardCharsets.UTF_8));
+      }
+      words.add(List.of(level.words()));
+    }
+
+    out.writeInt(strings.size());
+    int offset = 0;
+    out.writeInt(offset);
+    for (byte[] s : strings) {
+      offset += s.length;
+      out.writeInt(offset);
+    }
+    out.writeInt(offset);
+    for (byte[] s : strings) {
+      out.write(s);
+    }
+    for (WordList level : levels) {
+      for (short partsOfSpeech : level.partsOfSpeech()) {
+        out.writeShort(partsOfSpeech);
+      }
+    }
+
+    int[] suffixes = new SuffixArrayIndex(words).suffixes();
+    out.writeInt(suffixes.length);
+    for (int suffix : suffixes) {
+      out.writeInt(suffix);
+    }
+    out.flush();
+  }
+}
@@ -1,3 +1,15 @@
 package org.conradlco.learning.school.words;
 
-public record DictionaryEntry(String word, ReadingLevel level) {}
+import java.util.Set;
+
+/** One word at one level, with its parts of speech as a {@link PartOfSpeech} bit mask. */
+public record DictionaryEntry(String word, ReadingLevel level, int partsOfSpeech) {
+
+  public boolean is(PartOfSpeech partOfSpeech) {
+    return (partsOfSpeech & partOfSpeech.bit()) != 0;
+  }
+
+  public Set<PartOfSpeech> getPartsOfSpeech() {
+    return PartOfSpeech.fromMask(partsOfSpeech);
+  }
+}
@@ -0,0 +1,294 @@
+package org.conradlco.learning.school.words;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * One set of word lists from the dictionary manifest, e.g. English by CEFR level or phonics
+ * stages: an id, a display name, its {@link ReadingLevel}s easiest first and a word list per level.
+ *
+ * <p>The manifest is {@value #MANIFEST} on the classpath. Sets in a {@value #MANIFEST} in the
+ * directory named by the {@value #DIRECTORY_PROPERTY} system property are added to them, reading
+ * their word lists from that directory; a set there with the id of a shipped set replaces it.
+ *
+ * <pre>
+ * sets = english, phonics
+ * english.name = English
+ * english.levels = A1, A2, B1, B2, C1, C2
+ * english.words = Words_{level}.txt
+ * phonics.storage = compact
+ * </pre>
+ *
+ * <p>{@code storage = compact} keeps the set's words in a {@link WordArena} rather than as strings,
+ * for vocabularies of millions of words; search indexes are then only built when first searched.
+ */
+public final class DictionarySet {
+
+  public static final String MANIFEST = "dictionaries.properties";
+  public static final String DIRECTORY_PROPERTY = "school.dictionaries";
+
+  // The levels of a set are tracked in int bit masks
+  static final int MAX_LEVELS = 32;
+
+  private static final String LEVEL_PLACEHOLDER = "{level}";
+
+  private final String id;
+  private final String name;
+  private final List<ReadingLevel> levels;
+  private final Map<ReadingLevel, Integer> indexes = new HashMap<>();
+  private final Map<ReadingLevel, String> sources = new HashMap<>();
+  private final Map<ReadingLevel, Path> files = new HashMap<>(); // lists that are plain files
+  private final String words; // word list file name, with the level placeholder
+  private final Path directory; // null for word lists on the classpath
+  private final boolean compact; // words kept in a WordArena
+
+  DictionarySet(
+      String id,
+      String name,
+      List<ReadingLevel> levels,
+      String words,
+      Path directory,
+      boolean compact) {
+    // Progress is saved as "id/level", so ids are kept to simple names
+    if (!id.matches("[\\w-]+")) {
+      throw new IllegalArgumentException("Invalid dictionary set id: '" + id + "'");
+    }
+    if (levels.isEmpty() || levels.size() > MAX_LEVELS) {
+      throw new IllegalArgumentException(
+          "Dictionary set " + id + " must have from 1 to " + MAX_LEVELS + " levels");
+    }
+    this.id = id;
+    this.name = name;
+    this.levels = List.copyOf(levels);
+    this.words = words;
+    this.directory = directory;
+    this.compact = compact;
+    for (int i = 0; i < levels.size(); i++) {
+      ReadingLevel level = levels.get(i);
+      if (indexes.putIfAbsent(level, i) != null) {
+        throw new IllegalArgumentException("Level " + level + " repeated in set " + id);
+      }
+      sources.put(
+          level,
+          directory != null
+              ? directory.resolve(fileFor(level)).toAbsolutePath().normalize().toString()
+              : "classpath:/" + fileFor(level));
+      Path file = directory != null ? directory.resolve(fileFor(level)) : shippedFile(level);
+      if (file != null) files.put(level, file.toAbsolutePath().normalize());
+    }
+  }
+
+  /** Where a shipped word list is on disk, or null when it is inside a jar. */
+  private Path shippedFile(ReadingLevel level) {
+    URL url = DictionarySet.class.getResource("/" + fileFor(level));
+    if (url == null || !"file".equals(url.getProtocol())) return null;
+    try {
+      return Path.of(url.toURI());
+    } catch (URISyntaxException e) {
+      return null;
+    }
+  }
+
+  /** Every set in the manifests, the default first. Read once. */
+  public static List<DictionarySet> all() {
+    return Manifest.SETS;
+  }
+
+  /** The first set in the manifest, used wherever no set is chosen. */
+  public static DictionarySet getDefault() {
+    return all().get(0);
+  }
+
+  /** Returns the set with the id, or null if the manifest has none. */
+  public static DictionarySet get(String id) {
+    for (DictionarySet set : all()) {
+      if (set.id.equals(id)) return set;
+    }
+    return null;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** The set's levels, easiest first. */
+  public List<ReadingLevel> getLevels() {
+    return levels;
+  }
+
+  /** Returns the set's level with the name, ignoring case, or null if it has none. */
+  public ReadingLevel level(String name) {
+    for (ReadingLevel level : levels) {
+      if (level.name().equalsIgnoreCase(name)) return level;
+    }
+    return null;
+  }
+
+  public boolean contains(ReadingLevel level) {
+    return indexes.containsKey(level);
+  }
+
+  /** The position of the level in the set, easiest first; throws if it is not one of them. */
+  int indexOf(ReadingLevel level) {
+    Integer index = indexes.get(level);
+    if (index == null) {
+      throw new IllegalArgumentException("Level " + level + " is not in dictionary set " + id);
+    }
+    return index;
+  }
+
+  /** The word list file of the level, e.g. "Words_A1.txt". */
+  String fileFor(ReadingLevel level) {
+    return words.replace(LEVEL_PLACEHOLDER, level.name());
+  }
+
+  /**
+   * Where the level's words are read from; sets naming the same word list share its loaded words.
+   */
+  String sourceOf(ReadingLevel level) {
+    return sources.get(level);
+  }
+
+  /**
+   * The file the level's words are read from, or null when it is inside a jar. Shipped lists are
+   * files too when the application runs from unpacked classes, so they can be edited in place.
+   */
+  Path fileOf(ReadingLevel level) {
+    return files.get(level);
+  }
+
+  /** The level whose word list is the file, or null if none of the set's is. */
+  ReadingLevel levelAt(Path file) {
+    Path normalized = file.toAbsolutePath().normalize();
+    for (ReadingLevel level : levels) {
+      if (normalized.equals(files.get(level))) return level;
+    }
+    return null;
+  }
+
+  /** The directory the word lists are read from, or null when they are on the classpath. */
+  Path getDirectory() {
+    return directory;
+  }
+
+  /** Whether the manifest asks for the set's words to be kept in a {@link WordArena}. */
+  boolean isCompact() {
+    return compact;
+  }
+
+  /** Parses the level's word list. */
+  WordList load(ReadingLevel level) {
+    try (BufferedReader reader = open(level)) {
+      return WordListLoader.read(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Opens the level's word list as UTF-8, from the set's directory or the classpath. */
+  BufferedReader open(ReadingLevel level) throws IOException {
+    if (directory != null) {
+      return Files.newBufferedReader(directory.resolve(fileFor(level)), StandardCharsets.UTF_8);
+    }
+    InputStream in = DictionarySet.class.getResourceAsStream("/" + fileFor(level));
+    if (in == null) {
+      throw new IllegalStateException("Word list not found on classpath: " + fileFor(level));
+    }
+    return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /**
+   * Reads the sets in a manifest, in the order it lists them. Word lists are in {@code directory},
+   * or on the classpath when it is null.
+   */
+  static List<DictionarySet> read(Reader manifest, Path directory) throws IOException {
+    Properties properties = new Properties();
+    properties.load(manifest);
+
+    List<DictionarySet> sets = new ArrayList<>();
+    for (String id : list(properties.getProperty("sets", ""))) {
+      List<ReadingLevel> levels =
+          list(required(properties, id + ".levels")).stream().map(ReadingLevel::new).toList();
+      String words = required(properties, id + ".words");
+      if (!words.contains(LEVEL_PLACEHOLDER)) {
+        throw new IllegalArgumentException(id + ".words must contain " + LEVEL_PLACEHOLDER);
+      }
+      String name = properties.getProperty(id + ".name", id).strip();
+      String storage = properties.getProperty(id + ".storage", "strings").strip();
+      if (!storage.equals("strings") && !storage.equals("compact")) {
+        throw new IllegalArgumentException(id + ".storage must be strings or compact");
+      }
+      sets.add(
+          new DictionarySet(id, name, levels, words, directory, storage.equals("compact")));
+    }
+    return sets;
+  }
+
+  private static List<String> list(String value) {
+    return Arrays.stream(value.split(",")).map(String::strip).filter(s -> !s.isEmpty()).toList();
+  }
+
+  private static String required(Properties properties, String key) {
+    String value = properties.getProperty(key);
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Dictionary manifest is missing " + key);
+    }
+    return value.strip();
+  }
+
+  /** The shipped manifest plus any in the configured directory, read on first use. */
+  private static final class Manifest {
+    static final List<DictionarySet> SETS = load();
+
+    private static List<DictionarySet> load() {
+      Map<String, DictionarySet> sets = new LinkedHashMap<>();
+      try {
+        InputStream shipped = DictionarySet.class.getResourceAsStream("/" + MANIFEST);
+        if (shipped == null) {
+          throw new IllegalStateException("Dictionary manifest not found on classpath");
+        }
+        try (Reader reader = new InputStreamReader(shipped, StandardCharsets.UTF_8)) {
+          read(reader, null).forEach(set -> sets.put(set.id, set));
+        }
+
+        String configured = System.getProperty(DIRECTORY_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+          Path directory = Path.of(configured);
+          try (Reader reader =
+              Files.newBufferedReader(directory.resolve(MANIFEST), StandardCharsets.UTF_8)) {
+            read(reader, directory).forEach(set -> sets.put(set.id, set));
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (sets.isEmpty()) throw new IllegalStateException("Dictionary manifest lists no sets");
+      return List.copyOf(sets.values());
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package org.conradlco.learning.school.words;
+
+import static org.conradlco.learning.school.words.Phoneme.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Transcribes spellings into {@link Phoneme}s with the rules taught in phonics: at each position
+ * the longest matching grapheme wins, a vowel followed by one consonant and a final "e" is long
+ * ("cake", "home"), and "r" after a vowel changes the vowel ("car", "bird") unless another vowel
+ * follows ("carry").
+ *
+ * <p>Rules, not a pronouncing dictionary, so irregular words ("said", "friend", "one") come out as
+ * they are spelled.
+ */
+final class GraphemeToPhoneme {
+
+  /** Where in the word a grapheme may match. */
+  private enum Where {
+    ANYWHERE,
+    START,
+    END,
+    END_OF_LONG_WORD, // ends a word of four letters or more: "snow" but not "cow"
+    BEFORE_CONSONANT, // followed by one consonant or the end of the word: "car" but not "carry"
+  }
+
+  private record Rule(String grapheme, Where where, Phoneme... phonemes) {}
+
+  // Longest first, so "igh" is tried before "ig"; for equal lengths the order below decides
+  private static final List<Rule> RULES =
+      sortedByLength(
+          List.of(
+              new Rule("eigh", Where.ANYWHERE, AY),
+              new Rule("augh", Where.ANYWHERE, OR),
+              new Rule("ough", Where.ANYWHERE, OR),
+              new Rule("ould", Where.ANYWHERE, UU, D),
+              new Rule("tion", Where.ANYWHERE, SH, U, N),
+              new Rule("sion", Where.ANYWHERE, SH, U, N),
+              new Rule("ture", Where.ANYWHERE, CH, UR),
+              new Rule("tive", Where.END, T, I, V),
+              new Rule("igh", Where.ANYWHERE, IGH),
+              new Rule("tch", Where.ANYWHERE, CH),
+              new Rule("dge", Where.ANYWHERE, J),
+              new Rule("nge", Where.END, N, J),
+              new Rule("sch", Where.START, S, K),
+              new Rule("air", Where.ANYWHERE, AIR),
+              new Rule("are", Where.END, AIR),
+              new Rule("ear", Where.END, EAR),
+              new Rule("ear", Where.BEFORE_CONSONANT, UR),
+              new Rule("eer", Where.ANYWHERE, EAR),
+              new Rule("ere", Where.END, EAR),
+              new Rule("oor", Where.ANYWHERE, OR),
+              new Rule("ore", Where.END, OR),
+              new Rule("oar", Where.ANYWHERE, OR),
+              new Rule("our", Where.ANYWHERE, OR),
+              new Rule("war", Where.START, W, OR),
+              new Rule("wor", Where.START, W, UR),
+              new Rule("ead", Where.ANYWHERE, E, D),
+              new Rule("ild", Where.END, IGH, L, D),
+              new Rule("ind", Where.END, IGH, N, D),
+              new Rule("old", Where.ANYWHERE, OA, L, D),
+              new Rule("all", Where.ANYWHERE, OR, L),
+              new Rule("alk", Where.ANYWHERE, OR, K),
+              new Rule("ook", Where.ANYWHERE, UU, K),
+              new Rule("ai", Where.ANYWHERE, AY),
+              new Rule("ay", Where.ANYWHERE, AY),
+              new Rule("ey", Where.END, EE),
+              new Rule("ee", Where.ANYWHERE, EE),
+              new Rule("ea", Where.ANYWHERE, EE),
+              new Rule("ie", Where.END, IGH),
+              new Rule("ie", Where.ANYWHERE, EE),
+              new Rule("ei", Where.ANYWHERE, EE),
+              new Rule("oa", Where.ANYWHERE, OA),
+              new Rule("oe", Where.END, OA),
+              new Rule("ow", Where.END_OF_LONG_WORD, OA),
+              new Rule("ow", Where.ANYWHERE, OW),
+              new Rule("oo", Where.ANYWHERE, OO),
+              new Rule("ue", Where.ANYWHERE, OO),
+              new Rule("ew", Where.ANYWHERE, OO),
+              new Rule("ui", Where.ANYWHERE, OO),
+              new Rule("ou", Where.END, OO),
+              new Rule("ou", Where.ANYWHERE, OW),
+              new Rule("oi", Where.ANYWHERE, OI),
+              new Rule("oy", Where.ANYWHERE, OI),
+              new Rule("aw", Where.ANYWHERE, OR),
+              new Rule("au", Where.ANYWHERE, OR),
+              new Rule("ar", Where.BEFORE_CONSONANT, AR),
+              new Rule("or", Where.BEFORE_CONSONANT, OR),
+              new Rule("er", Where.BEFORE_CONSONANT, UR),
+              new Rule("ir", Where.BEFORE_CONSONANT, UR),
+              new Rule("ur", Where.BEFORE_CONSONANT, UR),
+              new Rule("ch", Where.ANYWHERE, CH),
+              new Rule("sh", Where.ANYWHERE, SH),
+              new Rule("th", Where.ANYWHERE, TH),
+              new Rule("ng", Where.ANYWHERE, NG),
+              new Rule("nk", Where.ANYWHERE, NG, K),
+              new Rule("ph", Where.ANYWHERE, F),
+              new Rule("wh", Where.ANYWHERE, W),
+              new Rule("ck", Where.ANYWHERE, K),
+              new Rule("kn", Where.START, N),
+              new Rule("wr", Where.START, R),
+              new Rule("qu", Where.ANYWHERE, K, W),
+              new Rule("gh", Where.START, G),
+              new Rule("gh", Where.ANYWHERE),
+              new Rule("mb", Where.END, M),
+              new Rule("le", Where.END, L),
+              new Rule("ce", Where.END, S),
+              new Rule("ge", Where.END, J),
+              new Rule("ci", Where.ANYWHERE, S, I),
+              new Rule("cy", Where.ANYWHERE, S, EE),
+              new Rule("ce", Where.ANYWHERE, S, E)));
+
+  private GraphemeToPhoneme() {}
+
+  /** Returns the sounds of the word in order, ignoring case and anything but letters. */
+  static List<Phoneme> transcribe(String word) {
+    String w = lettersOf(word);
+    List<Phoneme> sounds = new ArrayList<>();
+    int i = 0;
+    while (i < w.length()) {
+      Rule rule = match(w, i);
+      if (rule != null) {
+        sounds.addAll(List.of(rule.phonemes()));
+        i += rule.grapheme().length();
+      } else if (isMagicE(w, i)) {
+        sounds.add(longVowel(w.charAt(i)));
+        // The "e" also softens c and g: "nice", "page"
+        switch (w.charAt(i + 1)) {
+          case 'c' -> sounds.add(S);
+          case 'g' -> sounds.add(J);
+          default -> addConsonant(sounds, w.charAt(i + 1));
+        }
+        i += 3; // the final "e" is silent
+      } else {
+        i = single(w, i, sounds);
+      }
+    }
+    return sounds;
+  }
+
+  private static String lettersOf(String word) {
+    StringBuilder letters = new StringBuilder(word.length());
+    for (int i = 0; i < word.length(); i++) {
+      char c = Character.toLowerCase(word.charAt(i));
+      if (c >= 'a' && c <= 'z') letters.append(c);
+    }
+    return letters.toString();
+  }
+
+  private static Rule match(String w, int i) {
+    for (Rule rule : RULES) {
+      String g = rule.grapheme();
+      if (!w.startsWith(g, i)) continue;
+      int end = i + g.length();
+      boolean fits =
+          switch (rule.where()) {
+            case ANYWHERE -> true;
+            case START -> i == 0;
+            case END -> end == w.length();
+            case END_OF_LONG_WORD -> end == w.length() && end >= 4;
+            case BEFORE_CONSONANT -> end == w.length() || "aeiouyr".indexOf(w.charAt(end)) < 0;
+          };
+      if (fits) return rule;
+    }
+    return null;
+  }
+
+  /** A vowel, one consonant and an "e" that ends the word, or is followed only by "s" or "d". */
+  private static boolean isMagicE(String w, int i) {
+    if (i + 2 >= w.length() || !isVowel(w.charAt(i))) return false;
+    char consonant = w.charAt(i + 1);
+    if (isVowel(consonant) || "wxy".indexOf(consonant) >= 0 || w.charAt(i + 2) != 'e') return false;
+    String rest = w.substring(i + 3);
+    return rest.isEmpty() || rest.equals("s") || rest.equals("d");
+  }
+
+  /** Transcribes the single letter at {@code i}, or a doubled consonant; returns the next index. */
+  private static int single(String w, int i, List<Phoneme> sounds) {
+    char c = w.charAt(i);
+    boolean last = i == w.length() - 1;
+    switch (c) {
+      case 'a' -> sounds.add(A);
+      case 'i' -> sounds.add(I);
+      case 'u' -> sounds.add(U);
+      case 'o' -> sounds.add(last ? OA : O); // go, hello
+      case 'e' -> {
+        // Silent at the end of a word with another vowel ("horse"), long otherwise ("me")
+        if (!last) sounds.add(E);
+        else if (!hasVowelBefore(w, i)) sounds.add(EE);
+      }
+      case 'y' -> {
+        if (i == 0) sounds.add(Y);
+        else if (!last) sounds.add(I);
+        else sounds.add(hasVowelBefore(w, i) ? EE : IGH); // happy, my
+      }
+      default -> {
+        addConsonant(sounds, c);
+        // A doubled consonant is one sound: "ll" in "ball", "tt" in "little"
+        if (i + 1 < w.length() && w.charAt(i + 1) == c) return i + 2;
+      }
+    }
+    return i + 1;
+  }
+
+  private static void addConsonant(List<Phoneme> sounds, char c) {
+    switch (c) {
+      case 'b' -> sounds.add(B);
+      case 'c', 'k', 'q' -> sounds.add(K);
+      case 'd' -> sounds.add(D);
+      case 'f' -> sounds.add(F);
+      case 'g' -> sounds.add(G);
+      case 'h' -> sounds.add(H);
+      case 'j' -> sounds.add(J);
+      case 'l' -> sounds.add(L);
+      case 'm' -> sounds.add(M);
+      case 'n' -> sounds.add(N);
+      case 'p' -> sounds.add(P);
+      case 'r' -> sounds.add(R);
+      case 's' -> sounds.add(S);
+      case 't' -> sounds.add(T);
+      case 'v' -> sounds.add(V);
+      case 'w' -> sounds.add(W);
+      case 'x' -> {
+        sounds.add(K);
+        sounds.add(S);
+      }
+      case 'z' -> sounds.add(Z);
+      default -> {} // vowels never reach here
+    }
+  }
+
+  private static Phoneme longVowel(char vowel) {
+    return switch (vowel) {
+      case 'a' -> AY;
+      case 'e' -> EE;
+      case 'i' -> IGH;
+      case 'o' -> OA;
+      default -> OO;
+    };
+  }
+
+  private static boolean hasVowelBefore(String w, int i) {
+    for (int j = 0; j < i; j++) {
+      if (isVowel(w.charAt(j))) return true;
+    }
+    return false;
+  }
+
+  private static boolean isVowel(char c) {
+    return "aeiou".indexOf(c) >= 0;
+  }
+
+  private static List<Rule> sortedByLength(List<Rule> rules) {
+    List<Rule> sorted = new ArrayList<>(rules);
+    // Stable, so rules of equal length keep their order
+    sorted.sort(Comparator.comparingInt((Rule r) -> r.grapheme().length()).reversed());
+    return List.copyOf(sorted);
+  }
+}
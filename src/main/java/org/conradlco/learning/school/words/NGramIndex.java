@@ -0,0 +1,111 @@
+package org.conradlco.learning.school.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index from every 1, 2 and 3 letter gram to the words containing it. Words are numbered
+ * in case-insensitive order so posting lists, and therefore query results, are already sorted.
+ */
+final class NGramIndex {
+
+  private static final int MAX_GRAM = 3;
+
+  private final String[] words;
+  private final String[] lowered;
+  private final Map<String, int[]> postings;
+
+  NGramIndex(List<String> source) {
+    words = source.toArray(new String[0]);
+    Arrays.sort(words, String.CASE_INSENSITIVE_ORDER);
+
+    lowered = new String[words.length];
+    Map<String, IntList> building = new HashMap<>();
+    for (int id = 0; id < words.length; id++) {
+      String w = words[id].toLowerCase(Locale.ROOT);
+      lowered[id] = w;
+      for (int n = 1; n <= MAX_GRAM; n++) {
+        for (int i = 0; i + n <= w.length(); i++) {
+          building.computeIfAbsent(w.substring(i, i + n), k -> new IntList()).addOnce(id);
+        }
+      }
+    }
+
+    postings = new HashMap<>(building.size() * 4 / 3 + 1);
+    building.forEach((gram, ids) -> postings.put(gram, ids.toArray()));
+  }
+
+  /** Returns the words containing the lower-case fragment, in case-insensitive order. */
+  List<String> find(String fragment) {
+    if (fragment.isEmpty()) return List.of();
+
+    if (fragment.length() <= MAX_GRAM) {
+      int[] ids = postings.get(fragment);
+      return ids == null ? List.of() : toWords(ids, ids.length);
+    }
+
+    // Longer fragments: intersect the trigram postings, then confirm the candidates
+    List<int[]> lists = new ArrayList<>();
+    for (int i = 0; i + MAX_GRAM <= fragment.length(); i++) {
+      int[] ids = postings.get(fragment.substring(i, i + MAX_GRAM));
+      if (ids == null) return List.of();
+      lists.add(ids);
+    }
+    lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+    int[] candidates = lists.get(0).clone();
+    int count = candidates.length;
+    for (int l = 1; l < lists.size() && count > 0; l++) {
+      count = intersect(candidates, count, lists.get(l));
+    }
+
+    int matched = 0;
+    for (int i = 0; i < count; i++) {
+      if (lowered[candidates[i]].contains(fragment)) {
+        candidates[matched++] = candidates[i];
+      }
+    }
+    return toWords(candidates, matched);
+  }
+
+  /** Keeps the first {@code count} ids that also appear in {@code other}; returns the new count. */
+  private static int intersect(int[] ids, int count, int[] other) {
+    int kept = 0;
+    int j = 0;
+    for (int i = 0; i < count && j < other.length; i++) {
+      while (j < other.length && other[j] < ids[i]) j++;
+      if (j < other.length && other[j] == ids[i]) {
+        ids[kept++] = ids[i];
+      }
+    }
+    return kept;
+  }
+
+  private List<String> toWords(int[] ids, int count) {
+    String[] result = new String[count];
+    for (int i = 0; i < count; i++) {
+      result[i] = words[ids[i]];
+    }
+    return Collections.unmodifiableList(Arrays.asList(result));
+  }
+
+  private static final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void addOnce(int value) {
+      if (size > 0 && values[size - 1] == value) return;
+      if (size == values.length) values = Arrays.copyOf(values, size * 2);
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
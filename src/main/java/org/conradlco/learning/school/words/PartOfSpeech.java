@@ -0,0 +1,89 @@
+package org.conradlco.learning.school.words;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The parts of speech tagged in the word lists, e.g. "n." in "action n.". A word's parts of speech
+ * are kept as a bit mask, one bit per constant, so they cost two bytes per word.
+ */
+public enum PartOfSpeech {
+  NOUN("n.", "Nouns"),
+  VERB("v.", "Verbs"),
+  ADJECTIVE("adj.", "Adjectives"),
+  ADVERB("adv.", "Adverbs"),
+  PRONOUN("pron.", "Pronouns"),
+  PREPOSITION("prep.", "Prepositions"),
+  CONJUNCTION("conj.", "Conjunctions"),
+  DETERMINER("det.", "Determiners"),
+  ARTICLE("article", "Articles"), // as in "the definite article"
+  EXCLAMATION("exclam.", "Exclamations"),
+  NUMBER("number", "Numbers"),
+  MODAL_VERB("modal v.", "Modal verbs"),
+  AUXILIARY_VERB("auxiliary v.", "Auxiliary verbs"),
+  INFINITIVE_MARKER("infinitive marker", "Infinitive markers");
+
+  private final String tag;
+  private final String label;
+
+  PartOfSpeech(String tag, String label) {
+    this.tag = tag;
+    this.label = label;
+  }
+
+  /** The tag used in the word lists, e.g. "adj.". */
+  public String getTag() {
+    return tag;
+  }
+
+  /** How the words are described to a learner, e.g. "Nouns". */
+  public String getLabel() {
+    return label;
+  }
+
+  public int bit() {
+    return 1 << ordinal();
+  }
+
+  /** Returns the parts of speech in a bit mask, in declaration order. */
+  public static Set<PartOfSpeech> fromMask(int mask) {
+    EnumSet<PartOfSpeech> parts = EnumSet.noneOf(PartOfSpeech.class);
+    for (PartOfSpeech part : values()) {
+      if ((mask & part.bit()) != 0) parts.add(part);
+    }
+    return Collections.unmodifiableSet(parts);
+  }
+
+  /**
+   * Parses the tags after a head word into a bit mask, e.g. "prep., adv." or "det./pron.". Tags
+   * are separated by commas or slashes; glosses in parentheses and words before a tag ("to" in
+   * "next to prep.", "definite" in "definite article") are skipped, as is anything unrecognised. A
+   * missing final dot is tolerated.
+   */
+  public static int parseTags(String tags) {
+    int mask = 0;
+    String text = tags.replaceAll("\\([^)]*\\)", " ");
+    for (String piece : text.split("[,/]")) {
+      String p = piece.trim();
+      if (p.isEmpty()) continue;
+      PartOfSpeech found = null;
+      for (PartOfSpeech part : values()) {
+        // Longest tag wins, so "modal v." is not read as "v."
+        if (endsWithTag(p, part.tag) && (found == null || part.tag.length() > found.tag.length())) {
+          found = part;
+        }
+      }
+      if (found != null) mask |= found.bit();
+    }
+    return mask;
+  }
+
+  private static boolean endsWithTag(String piece, String tag) {
+    String bare = tag.endsWith(".") ? tag.substring(0, tag.length() - 1) : tag;
+    for (String form : new String[] {tag, bare}) {
+      if (piece.equals(form) || piece.endsWith(" " + form)) return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,87 @@
+package org.conradlco.learning.school.words;
+
+/**
+ * The sounds of English as taught in phonics, each named by its most common spelling. Words are
+ * transcribed into these by {@link GraphemeToPhoneme}.
+ */
+public enum Phoneme {
+  // Short vowels
+  A("a", "cat, bag"),
+  E("e", "bed, head"),
+  I("i", "pig, sit"),
+  O("o", "dog, hot"),
+  U("u", "sun, cup"),
+  UU("oo (short)", "book, look"),
+
+  // Long vowels and vowel teams
+  AY("ai", "rain, day, cake"),
+  EE("ee", "see, sea, happy"),
+  IGH("igh", "night, my, bike"),
+  OA("oa", "boat, snow, home"),
+  OO("oo", "moon, blue, new"),
+  AR("ar", "car, park"),
+  OR("or", "fork, door, saw"),
+  UR("ur", "bird, her, turn"),
+  OW("ow", "cow, out"),
+  OI("oi", "coin, boy"),
+  AIR("air", "hair, care"),
+  EAR("ear", "near, deer"),
+
+  // Consonants
+  B("b", "bat"),
+  CH("ch", "chip, match"),
+  D("d", "dog"),
+  F("f", "fish, phone"),
+  G("g", "go"),
+  H("h", "hat"),
+  J("j", "jam, page"),
+  K("k", "kit, cat, duck"),
+  L("l", "leg"),
+  M("m", "man"),
+  N("n", "net, know"),
+  NG("ng", "ring, think"),
+  P("p", "pen"),
+  R("r", "red, write"),
+  S("s", "sun, city"),
+  SH("sh", "ship, station"),
+  T("t", "top"),
+  TH("th", "thin, this"),
+  V("v", "van"),
+  W("w", "wet, when"),
+  Y("y", "yes"),
+  Z("z", "zoo");
+
+  private final String spelling;
+  private final String examples;
+
+  Phoneme(String spelling, String examples) {
+    this.spelling = spelling;
+    this.examples = examples;
+  }
+
+  /**
+   * Returns the sound with the given spelling or name, ignoring case and surrounding whitespace:
+   * "oo" is the sound in "moon" and "uu" the one in "book". Returns null if there is none.
+   */
+  public static Phoneme fromSpelling(String spelling) {
+    if (spelling == null) return null;
+    String s = spelling.trim();
+    for (Phoneme sound : values()) {
+      if (sound.spelling.equalsIgnoreCase(s)) return sound;
+    }
+    for (Phoneme sound : values()) {
+      if (sound.name().equalsIgnoreCase(s)) return sound;
+    }
+    return null;
+  }
+
+  /** The usual spelling of the sound, e.g. "oo". */
+  public String getSpelling() {
+    return spelling;
+  }
+
+  /** A few words with the sound, in its different spellings. */
+  public String getExamples() {
+    return examples;
+  }
+}
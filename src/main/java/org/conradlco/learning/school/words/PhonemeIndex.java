@@ -0,0 +1,39 @@
+package org.conradlco.learning.school.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from every {@link Phoneme} to the words containing it, sorted case-insensitively
+ * like {@link NGramIndex}. The result lists are built once, so a query is a single map lookup.
+ */
+final class PhonemeIndex {
+
+  private final Map<Phoneme, List<String>> words = new EnumMap<>(Phoneme.class);
+
+  PhonemeIndex(List<String> source) {
+    String[] sorted = source.toArray(new String[0]);
+    Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+
+    Map<Phoneme, List<String>> building = new EnumMap<>(Phoneme.class);
+    for (String word : sorted) {
+      // Each word once per sound, however often the sound occurs in it
+      EnumSet<Phoneme> sounds = EnumSet.noneOf(Phoneme.class);
+      sounds.addAll(GraphemeToPhoneme.transcribe(word));
+      for (Phoneme sound : sounds) {
+        building.computeIfAbsent(sound, k -> new ArrayList<>()).add(word);
+      }
+    }
+    building.forEach((sound, list) -> words.put(sound, Collections.unmodifiableList(list)));
+  }
+
+  /** Returns the words containing the sound, in case-insensitive order. */
+  List<String> find(Phoneme sound) {
+    return words.getOrDefault(sound, List.of());
+  }
+}
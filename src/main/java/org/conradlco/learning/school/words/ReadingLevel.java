@@ -1,18 +1,31 @@
 package org.conradlco.learning.school.words;
 
-public enum ReadingLevel {
-  A1(1),
-  A2(2),
-  B1(3),
-  B2(4);
+/**
+ * A reading level, identified by its name, e.g. "A1" or "Phase 3". The levels of a dictionary set
+ * and their order come from the manifest (see {@link DictionarySet}). Two sets listing a level of
+ * the same name share only its identity: reading progress is kept per set, so a level's progress in
+ * one set is separate from the same-named level's in another.
+ */
+public record ReadingLevel(String name) {
 
-  private final int level;
+  // The levels of the shipped English word lists
+  public static final ReadingLevel A1 = new ReadingLevel("A1");
+  public static final ReadingLevel A2 = new ReadingLevel("A2");
+  public static final ReadingLevel B1 = new ReadingLevel("B1");
+  public static final ReadingLevel B2 = new ReadingLevel("B2");
 
-  ReadingLevel(int level) {
-    this.level = level;
+  public ReadingLevel {
+    if (name == null || name.isBlank() || !name.strip().equals(name)) {
+      throw new IllegalArgumentException("Invalid level name: '" + name + "'");
+    }
+    // "All" stands for every level in the level choosers and the classroom API
+    if (name.equalsIgnoreCase("All") || name.equals("-") || name.contains("\t")) {
+      throw new IllegalArgumentException("Reserved level name: " + name);
+    }
   }
 
-  public int getLevel() {
-    return this.level;
+  @Override
+  public String toString() {
+    return name;
   }
 }
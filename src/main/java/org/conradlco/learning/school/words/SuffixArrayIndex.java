@@ -0,0 +1,206 @@
+package org.conradlco.learning.school.words;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Suffix array over the lower-cased words of every level, concatenated with a separator. Suffixes
+ * are sorted level by level, so a fragment's occurrences at one level form one contiguous range of
+ * the array, found with two binary searches.
+ */
+final class SuffixArrayIndex {
+
+  private static final char SEPARATOR = '\0';
+  private static final int INSERTION_SORT_MAX = 12;
+
+  private final char[] text;
+  private final int[] suffixes; // text positions, in suffix order within each level
+  private final int[] levelStarts; // where each level's suffixes start, plus the total
+  private final int[] suffixWord; // word id of each entry in suffixes
+  private final int wordCount;
+
+  // Built on first count; racing callers build the same matrix, so there is no need to lock
+  private volatile WaveletMatrix firstOccurrences;
+
+  /** Each list holds the words of one level, in level order. */
+  SuffixArrayIndex(List<List<String>> levels) {
+    this(levels, null);
+  }
+
+  /** Builds the index around a suffix array prebuilt from the same words, if one is given. */
+  SuffixArrayIndex(List<List<String>> levels, int[] prebuilt) {
+    int levelCount = levels.size();
+    levelStarts = new int[levelCount + 1];
+    int words = 0;
+    int length = 0;
+    for (int l = 0; l < levelCount; l++) {
+      for (String w : levels.get(l)) {
+        length += w.length() + 1;
+        levelStarts[l + 1] += w.length();
+        words++;
+      }
+      levelStarts[l + 1] += levelStarts[l];
+    }
+    wordCount = words;
+
+    text = new char[length];
+    int[] wordAt = new int[length];
+    int pos = 0;
+    int id = 0;
+    for (List<String> level : levels) {
+      for (String w : level) {
+        String lower = w.toLowerCase(Locale.ROOT);
+        lower.getChars(0, lower.length(), text, pos);
+        Arrays.fill(wordAt, pos, pos + lower.length() + 1, id++);
+        pos += lower.length();
+        text[pos++] = SEPARATOR;
+      }
+    }
+
+    suffixes = prebuilt != null ? prebuilt : sortSuffixes(length - wordCount);
+    suffixWord = new int[suffixes.length];
+    for (int i = 0; i < suffixes.length; i++) {
+      suffixWord[i] = wordAt[suffixes[i]];
+    }
+  }
+
+  /** Returns the suffix array, for storing in the compiled dictionary. */
+  int[] suffixes() {
+    return suffixes;
+  }
+
+  /**
+   * Returns, for each level, how many distinct words contain the lower-case fragment, with two
+   * binary searches and one {@link WaveletMatrix} count per level: logarithmic in the text size,
+   * however many words match.
+   */
+  int[] countByLevel(String fragment) {
+    int[] counts = new int[levelStarts.length - 1];
+    if (fragment.isEmpty()) return counts;
+
+    WaveletMatrix firsts = firstOccurrences();
+    for (int l = 0; l < counts.length; l++) {
+      int from = lowerBound(fragment, levelStarts[l], levelStarts[l + 1]);
+      int to = upperBound(fragment, from, levelStarts[l + 1]);
+      // A word containing the fragment more than once has several suffixes in the range; count
+      // only the first, the one whose previous suffix from the same word comes before the range
+      counts[l] = firsts.countLess(from, to, from + 1);
+    }
+    return counts;
+  }
+
+  /**
+   * For each suffix, one more than the position of the previous suffix from the same word, or 0
+   * if it is the word's first.
+   */
+  private WaveletMatrix firstOccurrences() {
+    WaveletMatrix firsts = firstOccurrences;
+    if (firsts == null) {
+      int[] previous = new int[suffixes.length];
+      int[] lastSeen = new int[wordCount]; // position + 1, so 0 means not seen yet
+      for (int i = 0; i < suffixes.length; i++) {
+        previous[i] = lastSeen[suffixWord[i]];
+        lastSeen[suffixWord[i]] = i + 1;
+      }
+      firsts = new WaveletMatrix(previous, suffixes.length);
+      firstOccurrences = firsts;
+    }
+    return firsts;
+  }
+
+  /** First suffix in {@code [lo, hi)} not less than the fragment. */
+  private int lowerBound(String fragment, int lo, int hi) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (comparePrefix(suffixes[mid], fragment) < 0) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  /** First suffix in {@code [from, hi)} that does not start with the fragment. */
+  private int upperBound(String fragment, int from, int hi) {
+    int lo = from;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (comparePrefix(suffixes[mid], fragment) <= 0) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  /** Compares the suffix with the fragment, treating a suffix that starts with it as equal. */
+  private int comparePrefix(int pos, String fragment) {
+    for (int i = 0; i < fragment.length(); i++) {
+      char c = text[pos + i];
+      if (c == SEPARATOR) return -1;
+      int cmp = Character.compare(c, fragment.charAt(i));
+      if (cmp != 0) return cmp;
+    }
+    return 0;
+  }
+
+  private int[] sortSuffixes(int count) {
+    // The text holds the levels in order, so collecting positions in text order groups them
+    int[] order = new int[count];
+    int n = 0;
+    for (int i = 0; i < text.length; i++) {
+      if (text[i] != SEPARATOR) order[n++] = i;
+    }
+    for (int l = 0; l + 1 < levelStarts.length; l++) {
+      sort(order, levelStarts[l], levelStarts[l + 1], 0);
+    }
+    return order;
+  }
+
+  /**
+   * Sorts {@code order[lo, hi)}, whose suffixes agree on their first {@code depth} characters, with
+   * a three-way radix quicksort. Every suffix stops at its word's separator, so the depth is
+   * bounded by the longest word.
+   */
+  private void sort(int[] order, int lo, int hi, int depth) {
+    while (hi - lo > INSERTION_SORT_MAX) {
+      char pivot = text[order[(lo + hi) >>> 1] + depth];
+      int lt = lo;
+      int gt = hi;
+      int i = lo;
+      while (i < gt) {
+        char c = text[order[i] + depth];
+        if (c < pivot) swap(order, lt++, i++);
+        else if (c > pivot) swap(order, i, --gt);
+        else i++;
+      }
+      sort(order, lo, lt, depth);
+      sort(order, gt, hi, depth);
+      if (pivot == SEPARATOR) return;
+      lo = lt;
+      hi = gt;
+      depth++;
+    }
+    for (int i = lo + 1; i < hi; i++) {
+      int pos = order[i];
+      int j = i;
+      while (j > lo && compareSuffixes(order[j - 1] + depth, pos + depth) > 0) {
+        order[j] = order[j - 1];
+        j--;
+      }
+      order[j] = pos;
+    }
+  }
+
+  private static void swap(int[] order, int i, int j) {
+    int t = order[i];
+    order[i] = order[j];
+    order[j] = t;
+  }
+
+  private int compareSuffixes(int a, int b) {
+    while (true) {
+      char ca = text[a++];
+      char cb = text[b++];
+      if (ca != cb) return Character.compare(ca, cb);
+      if (ca == SEPARATOR) return 0;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package org.conradlco.learning.school.words;
+
+/**
+ * Wavelet matrix over a sequence of non-negative ints: counts the values in a range of positions
+ * that are less than a bound in time logarithmic in the largest value, using about a quarter of a
+ * byte per value per bit of that value.
+ */
+final class WaveletMatrix {
+
+  private final int bits;
+  private final long[][] levels; // one bit per position and level, highest bit first
+  private final int[][] ranks; // ones before each long of a level's bits
+  private final int[] zeros; // positions with a 0 bit at each level
+
+  /** Values must be from 0 to {@code maxValue}. */
+  WaveletMatrix(int[] values, int maxValue) {
+    int length = values.length;
+    bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxValue));
+    levels = new long[bits][];
+    ranks = new int[bits][];
+    zeros = new int[bits];
+
+    int[] current = values.clone();
+    int[] next = new int[length];
+    for (int level = 0; level < bits; level++) {
+      int shift = bits - 1 - level;
+      long[] set = new long[(length >>> 6) + 1];
+      int zero = 0;
+      for (int i = 0; i < length; i++) {
+        if ((current[i] >>> shift & 1) != 0) set[i >>> 6] |= 1L << (i & 63);
+        else zero++;
+      }
+      // Stable partition for the next level: values with a 0 bit here first, then those with a 1
+      int z = 0;
+      int o = zero;
+      for (int i = 0; i < length; i++) {
+        if ((current[i] >>> shift & 1) == 0) next[z++] = current[i];
+        else next[o++] = current[i];
+      }
+      int[] rank = new int[set.length + 1];
+      for (int k = 0; k < set.length; k++) {
+        rank[k + 1] = rank[k] + Long.bitCount(set[k]);
+      }
+      levels[level] = set;
+      ranks[level] = rank;
+      zeros[level] = zero;
+
+      int[] swap = current;
+      current = next;
+      next = swap;
+    }
+  }
+
+  /** Returns how many of the values at positions {@code [from, to)} are less than the bound. */
+  int countLess(int from, int to, int bound) {
+    if (bound <= 0) return 0;
+    if (bits < 31 && bound >= 1 << bits) return to - from;
+
+    int count = 0;
+    for (int level = 0; level < bits && from < to; level++) {
+      int onesFrom = ones(level, from);
+      int onesTo = ones(level, to);
+      if ((bound >>> (bits - 1 - level) & 1) != 0) {
+        // Values with a 0 bit where the bound has a 1 are less; carry on with those with a 1
+        count += (to - from) - (onesTo - onesFrom);
+        from = zeros[level] + onesFrom;
+        to = zeros[level] + onesTo;
+      } else {
+        from -= onesFrom;
+        to -= onesTo;
+      }
+    }
+    return count;
+  }
+
+  /** The 1 bits at positions {@code [0, i)} of the level. */
+  private int ones(int level, int i) {
+    int k = i >>> 6;
+    int rest = i & 63;
+    int ones = ranks[level][k];
+    return rest == 0 ? ones : ones + Long.bitCount(levels[level][k] & ((1L << rest) - 1));
+  }
+}
@@ -0,0 +1,321 @@
+package org.conradlco.learning.school.words;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Compact, read-only storage for the words of a {@link DictionarySet} too large to hold as strings,
+ * e.g. vocabularies of millions of words for other languages. Every word lives in one UTF-8 byte
+ * array, found through an int offset table, with a short of {@link PartOfSpeech} bits beside it;
+ * words are grouped by level, so a level is a range of word ids. That is a few bytes per word over
+ * the text itself, against fifty or so for a {@code String} in a list.
+ *
+ * <p>Words are decoded only when read: the lists and entries returned are flyweight views over the
+ * arena. There are no search indexes. A {@link Dictionary} of a set with {@code storage = compact}
+ * in the manifest keeps its words here, building search indexes only when searched. Immutable, so
+ * safe to share between threads.
+ */
+public final class WordArena {
+
+  private final List<ReadingLevel> levels;
+  private final byte[] text;
+  private final int[] offsets; // word id -> start in text; one extra entry ends the last word
+  private final short[] partsOfSpeech;
+  private final int[] levelStarts; // first word id of each level, plus the word count
+
+  // Open-addressing table of word id + 1 by lower-cased word, built on the first lookup
+  private volatile int[] lookup;
+
+  WordArena(
+      List<ReadingLevel> levels,
+      byte[] text,
+      int[] offsets,
+      short[] partsOfSpeech,
+      int[] levelStarts) {
+    this.levels = levels;
+    this.text = text;
+    this.offsets = offsets;
+    this.partsOfSpeech = partsOfSpeech;
+    this.levelStarts = levelStarts;
+  }
+
+  /** The words of the default set; see {@link #load(DictionarySet)}. */
+  public static WordArena load() {
+    return load(DictionarySet.getDefault());
+  }
+
+  /**
+   * The words of the set, copied from the compiled dictionary when the build produced one for it.
+   * Otherwise lines go straight from the word lists into the arena, so no list of strings is ever
+   * held.
+   */
+  public static WordArena load(DictionarySet set) {
+    CompiledDictionary compiled = CompiledDictionary.get();
+    if (compiled != null && compiled.isFor(set)) return compiled.arena(set);
+    return read(set);
+  }
+
+  /** The words of the set, read from its word lists even when a compiled dictionary holds them. */
+  static WordArena read(DictionarySet set) {
+    Builder builder = new Builder(set.getLevels());
+    for (ReadingLevel level : set.getLevels()) {
+      try (BufferedReader reader = set.open(level)) {
+        WordListLoader.read(reader, builder);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      builder.endLevel();
+    }
+    return builder.build();
+  }
+
+  /** Copies the words of each of the set's levels, for lists already in memory. */
+  static WordArena of(DictionarySet set, Function<ReadingLevel, WordList> source) {
+    Builder builder = new Builder(set.getLevels());
+    for (ReadingLevel level : set.getLevels()) {
+      WordList list = source.apply(level);
+      for (int i = 0; i < list.size(); i++) {
+        builder.add(list.words()[i], list.partsOfSpeech()[i]);
+      }
+      builder.endLevel();
+    }
+    return builder.build();
+  }
+
+  public int size() {
+    return partsOfSpeech.length;
+  }
+
+  /** The levels of the arena's set, easiest first. */
+  public List<ReadingLevel> getLevels() {
+    return levels;
+  }
+
+  public int size(ReadingLevel level) {
+    int index = indexOf(level);
+    return levelStarts[index + 1] - levelStarts[index];
+  }
+
+  /** Decodes the word with the id; ids run from 0 by level and then file order. */
+  public String word(int id) {
+    return new String(text, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+  }
+
+  public ReadingLevel level(int id) {
+    if (id < 0 || id >= size()) throw new IndexOutOfBoundsException(id);
+    int level = 0;
+    while (levelStarts[level + 1] <= id) level++;
+    return levels.get(level);
+  }
+
+  /** The word's {@link PartOfSpeech} bit mask. */
+  public int partsOfSpeech(int id) {
+    return partsOfSpeech[id];
+  }
+
+  public DictionaryEntry entry(int id) {
+    return new DictionaryEntry(word(id), level(id), partsOfSpeech[id]);
+  }
+
+  /** A read-only view of the level's words, or every word when null, decoded as they are read. */
+  public List<String> words(ReadingLevel level) {
+    int from = firstId(level);
+    int count = level != null ? size(level) : size();
+    return new AbstractList<>() {
+      @Override
+      public String get(int index) {
+        return word(from + checkIndex(index, count));
+      }
+
+      @Override
+      public int size() {
+        return count;
+      }
+    };
+  }
+
+  /** As {@link #words(ReadingLevel)}, with each word's level and parts of speech. */
+  public List<DictionaryEntry> entries(ReadingLevel level) {
+    int from = firstId(level);
+    int count = level != null ? size(level) : size();
+    return new AbstractList<>() {
+      @Override
+      public DictionaryEntry get(int index) {
+        return entry(from + checkIndex(index, count));
+      }
+
+      @Override
+      public int size() {
+        return count;
+      }
+    };
+  }
+
+  /** A random word from the level, or from every level when null, each equally likely. */
+  public String randomWord(ReadingLevel level, RandomGenerator random) {
+    int count = level != null ? size(level) : size();
+    if (count == 0) return null;
+    return word(firstId(level) + random.nextInt(count));
+  }
+
+  /** Returns every level the word is listed at, ignoring case, or an empty set if unknown. */
+  public Set<ReadingLevel> levelsOf(String word) {
+    int found = 0;
+    for (int id : listings(word)) found |= 1 << indexOf(level(id));
+    Set<ReadingLevel> of = new LinkedHashSet<>();
+    for (int l = 0; l < levels.size(); l++) {
+      if ((found & 1 << l) != 0) of.add(levels.get(l));
+    }
+    return Collections.unmodifiableSet(of);
+  }
+
+  public boolean contains(String word) {
+    return listings(word).length > 0;
+  }
+
+  /** The word's {@link PartOfSpeech} bits at every level it is listed at, ignoring case. */
+  public int partsOfSpeechOf(String word) {
+    int mask = 0;
+    for (int id : listings(word)) mask |= partsOfSpeech[id];
+    return mask;
+  }
+
+  /** Copies the level's words and parts of speech out, e.g. to build search indexes over. */
+  WordList list(ReadingLevel level) {
+    int from = firstId(level);
+    String[] words = new String[size(level)];
+    for (int i = 0; i < words.length; i++) words[i] = word(from + i);
+    return new WordList(words, Arrays.copyOfRange(partsOfSpeech, from, from + words.length));
+  }
+
+  /** The ids of every listing of the word, ignoring case. */
+  private int[] listings(String word) {
+    if (word == null) return new int[0];
+    String key = normalise(word);
+    int[] table = lookup();
+    int mask = table.length - 1;
+    // A word listed at several levels, or in several cases, has one slot per listing
+    int[] ids = new int[0];
+    for (int i = slot(key, mask); table[i] != 0; i = (i + 1) & mask) {
+      int id = table[i] - 1;
+      if (normalise(word(id)).equals(key)) {
+        ids = Arrays.copyOf(ids, ids.length + 1);
+        ids[ids.length - 1] = id;
+      }
+    }
+    return ids;
+  }
+
+  private int firstId(ReadingLevel level) {
+    return level != null ? levelStarts[indexOf(level)] : 0;
+  }
+
+  private int indexOf(ReadingLevel level) {
+    int index = levels.indexOf(level);
+    if (index < 0) throw new IllegalArgumentException("Level " + level + " is not in this arena");
+    return index;
+  }
+
+  private int[] lookup() {
+    int[] table = lookup;
+    if (table == null) {
+      // Racing callers build the same table, so there is no need to lock. At most half full.
+      int capacity = Integer.highestOneBit(Math.max(8, size()) * 4 - 1);
+      table = new int[capacity];
+      int mask = capacity - 1;
+      for (int id = 0; id < size(); id++) {
+        int i = slot(normalise(word(id)), mask);
+        while (table[i] != 0) i = (i + 1) & mask;
+        table[i] = id + 1;
+      }
+      lookup = table;
+    }
+    return table;
+  }
+
+  private static int slot(String key, int mask) {
+    int h = key.hashCode() * 0x9E3779B9;
+    return (h ^ h >>> 16) & mask;
+  }
+
+  private static int checkIndex(int index, int size) {
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+    return index;
+  }
+
+  private static String normalise(String word) {
+    return word.toLowerCase(Locale.ROOT);
+  }
+
+  /** Appends words level by level, growing the arrays by doubling. */
+  static final class Builder implements WordListLoader.Sink {
+    // The largest array most JVMs will allocate
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private byte[] text = new byte[1 << 12];
+    private int[] offsets = new int[1 << 10];
+    private short[] partsOfSpeech = new short[1 << 10];
+    private final List<ReadingLevel> levelList;
+    private final int[] levelStarts;
+    private int words;
+    private int length;
+    private int levels;
+
+    Builder(List<ReadingLevel> levels) {
+      this.levelList = levels;
+      this.levelStarts = new int[levels.size() + 1];
+    }
+
+    @Override
+    public void add(String word, int partsOfSpeech) {
+      byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+      long end = (long) length + bytes.length;
+      if (end > MAX_LENGTH) throw new IllegalStateException("Word arena is full");
+      if (end > text.length) {
+        text = Arrays.copyOf(text, (int) Math.max(end, Math.min(MAX_LENGTH, 2L * text.length)));
+      }
+      if (words + 1 == offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        this.partsOfSpeech = Arrays.copyOf(this.partsOfSpeech, offsets.length);
+      }
+      System.arraycopy(bytes, 0, text, length, bytes.length);
+      offsets[words] = length;
+      this.partsOfSpeech[words++] = (short) partsOfSpeech;
+      length += bytes.length;
+    }
+
+    @Override
+    public void addToLast(int partsOfSpeech) {
+      this.partsOfSpeech[words - 1] |= (short) partsOfSpeech;
+    }
+
+    /** Closes the current level; the next word starts the next one. */
+    void endLevel() {
+      levelStarts[++levels] = words;
+    }
+
+    WordArena build() {
+      if (levels != levelList.size()) {
+        throw new IllegalStateException("Expected " + levelList.size() + " levels");
+      }
+      offsets[words] = length;
+      return new WordArena(
+          levelList,
+          Arrays.copyOf(text, length),
+          Arrays.copyOf(offsets, words + 1),
+          Arrays.copyOf(partsOfSpeech, words),
+          levelStarts.clone());
+    }
+  }
+}
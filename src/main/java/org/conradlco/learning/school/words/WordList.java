@@ -0,0 +1,17 @@
+package org.conradlco.learning.school.words;
+
+/**
+ * The words of one level in file order, with each word's {@link PartOfSpeech} bit mask at the same
+ * index.
+ */
+record WordList(String[] words, short[] partsOfSpeech) {
+
+  /** Words with no part of speech tagged, e.g. generated ones. */
+  static WordList of(String[] words) {
+    return new WordList(words, new short[words.length]);
+  }
+
+  int size() {
+    return words.length;
+  }
+}
@@ -0,0 +1,101 @@
+package org.conradlco.learning.school.words;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the head words and their part-of-speech tags out of a word list such as {@code
+ * Words_A1.txt}.
+ */
+final class WordListLoader {
+
+  /** Receives the entries of a word list as they are read. */
+  interface Sink {
+    void add(String word, int partsOfSpeech);
+
+    /** Adds tags that wrapped onto a line of their own to the entry added last. */
+    void addToLast(int partsOfSpeech);
+  }
+
+  private WordListLoader() {}
+
+  /** Reads the head word and tags of every entry. */
+  static WordList read(BufferedReader reader) throws IOException {
+    List<String> words = new ArrayList<>();
+    List<Integer> tags = new ArrayList<>();
+    read(
+        reader,
+        new Sink() {
+          @Override
+          public void add(String word, int partsOfSpeech) {
+            words.add(word);
+            tags.add(partsOfSpeech);
+          }
+
+          @Override
+          public void addToLast(int partsOfSpeech) {
+            int last = tags.size() - 1;
+            tags.set(last, tags.get(last) | partsOfSpeech);
+          }
+        });
+
+    short[] partsOfSpeech = new short[tags.size()];
+    for (int i = 0; i < partsOfSpeech.length; i++) {
+      partsOfSpeech[i] = (short) (int) tags.get(i);
+    }
+    return new WordList(words.toArray(new String[0]), partsOfSpeech);
+  }
+
+  /** Streams every entry to the sink without holding the list, e.g. for a {@link WordArena}. */
+  static void read(BufferedReader reader, Sink sink) throws IOException {
+    boolean any = false;
+    String previous = "";
+    String line;
+    while ((line = reader.readLine()) != null) {
+      // Some entries wrap after a separator, e.g. "light (from the sun/a lamp) n.," then "adj."
+      String trimmed = previous.stripTrailing();
+      boolean wrapped = trimmed.endsWith(",") || trimmed.endsWith("/");
+      if (wrapped && any && isTagsOnly(line)) {
+        sink.addToLast(PartOfSpeech.parseTags(line));
+      } else {
+        sink.add(headWord(line), PartOfSpeech.parseTags(tagsOf(line)));
+        any = true;
+      }
+      previous = line;
+    }
+  }
+
+  /** Returns the text before the first space, e.g. "about" from "about prep., adv.". */
+  static String headWord(String line) {
+    int space = line.indexOf(' ');
+    return space < 0 ? line : line.substring(0, space);
+  }
+
+  /** Returns the text after the head word, e.g. "prep., adv." from "about prep., adv.". */
+  static String tagsOf(String line) {
+    int space = line.indexOf(' ');
+    return space < 0 ? "" : line.substring(space + 1);
+  }
+
+  /** True for a line holding nothing but tags, such as "adj." or "number". */
+  private static boolean isTagsOnly(String line) {
+    String text = line.trim();
+    if (text.isEmpty()) return false;
+    for (String piece : text.split("[,/]")) {
+      String p = piece.trim();
+      if (!p.isEmpty() && PartOfSpeech.parseTags(p) == 0) return false;
+      // A tag preceded by a word, e.g. "down adv.", starts a new entry
+      if (p.contains(" ") && !isTag(p)) return false;
+    }
+    return true;
+  }
+
+  private static boolean isTag(String text) {
+    for (PartOfSpeech part : PartOfSpeech.values()) {
+      if (part.getTag().equals(text)) return true;
+    }
+    return false;
+  }
+}
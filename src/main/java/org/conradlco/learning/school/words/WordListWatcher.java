@@ -0,0 +1,105 @@
+package org.conradlco.learning.school.words;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches the directories holding word lists on disk and has {@link Dictionary} reload the lists
+ * edited in them, on one background thread. Changes are gathered until the directories have been
+ * quiet for a moment, as editors often write a file in several steps. A list that cannot be read
+ * is logged and passed to {@link Dictionary#onReloadFailure} handlers.
+ */
+final class WordListWatcher {
+
+  private static final Logger LOGGER = LogManager.getLogger(WordListWatcher.class);
+  private static final long QUIET_MILLIS = 500;
+
+  private static WordListWatcher instance;
+
+  private final WatchService service;
+  private final Map<WatchKey, Path> directories = new HashMap<>();
+
+  private WordListWatcher() throws IOException {
+    service = FileSystems.getDefault().newWatchService();
+    Thread.ofPlatform().name("word-list-watcher").daemon().start(this::watchLoop);
+  }
+
+  /** Starts watching the directory, if it is not watched already. */
+  static synchronized void watch(Path directory) {
+    try {
+      if (instance == null) instance = new WordListWatcher();
+      Path dir = directory.toAbsolutePath().normalize();
+      synchronized (instance.directories) {
+        if (!instance.directories.containsValue(dir)) {
+          instance.directories.put(dir.register(instance.service, ENTRY_CREATE, ENTRY_MODIFY), dir);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void watchLoop() {
+    Set<Path> changed = new LinkedHashSet<>();
+    while (true) {
+      try {
+        WatchKey key = service.take();
+        while (key != null) {
+          collect(key, changed);
+          key = service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+        }
+      } catch (InterruptedException e) {
+        return;
+      }
+      for (Path file : changed) {
+        try {
+          Dictionary.reload(file);
+        } catch (RuntimeException e) {
+          // Keep the words already loaded; the next save of the list tries again
+          LOGGER.error("Could not reload word list {}", file, e);
+          Dictionary.reloadFailed(file, e);
+        }
+      }
+      changed.clear();
+    }
+  }
+
+  private void collect(WatchKey key, Set<Path> changed) {
+    Path directory;
+    synchronized (directories) {
+      directory = directories.get(key);
+    }
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        // Events were lost, so any list in the directory may have changed
+        try (Stream<Path> files = Files.list(directory)) {
+          files.filter(Files::isRegularFile).forEach(changed::add);
+        } catch (IOException e) {
+          LOGGER.error("Could not list word lists in {}", directory, e);
+          Dictionary.reloadFailed(directory, e);
+        }
+      } else {
+        changed.add(directory.resolve((Path) event.context()));
+      }
+    }
+    key.reset();
+  }
+}